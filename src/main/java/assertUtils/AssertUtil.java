@@ -10,11 +10,11 @@ public class AssertUtil
 		if (expression)
 		{
 			ExtentManager.infoTest(passLog);
-			ScreenshotUtil.takeScreenshot();
+			ScreenshotUtil.takeStepScreenshot(false);
 		} else
 		{
 			ExtentManager.warningTest(failLog);
-			ScreenshotUtil.takeScreenshot();
+			ScreenshotUtil.takeStepScreenshot(true);
 		}
 		return expression;
 	}
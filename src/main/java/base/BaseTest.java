@@ -5,9 +5,16 @@ import org.testng.annotations.*;
 import constants.FrameworkConstants;
 import data.TestDataUtil;
 import data.XLSReader;
+import databaseUtils.DatabaseUtils;
 import pages.PageFactory;
+import reporting.EventLog;
 import reporting.ExtentManager;
 import reporting.TestLogManager;
+import reporting.TestLogRouter;
+import restassuredUtils.AsyncRestClient;
+import restassuredUtils.ResponseCache;
+import seleniumUtils.ScreenshotPolicy;
+import seleniumUtils.ScreenshotStore;
 
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -32,6 +39,7 @@ public class BaseTest
 	{
 		ExtentManager.initReports();
 		TestLogManager.reloadConfiguration();
+		TestLogRouter.install();
 		if (GridManager.checkIfGrid(runner))
 		{
 			DockerManager.dockerContainterUp();
@@ -44,7 +52,8 @@ public class BaseTest
 	public void beforeMethod(String applicationName, String sheetname, String browser, Method method)
 	{
 
-		// 1. Initialize logger
+		// 1. Initialize logger and the correlation ID shared by logs, events and report
+		EventLog.beginTest(method.getName());
 		TestLogManager.testStart(method.getName());
 
 		// 2. Store metadata in ThreadLocal
@@ -106,6 +115,9 @@ public class BaseTest
 		}
 		}
 
+		// Flush policy-held screenshots while the driver is still open
+		ScreenshotPolicy.endTest(DriverManager.getDriver(), result.getStatus() == ITestResult.FAILURE);
+
 		// Cleanup driver
 		if (DriverManager.getDriver() != null)
 		{
@@ -117,11 +129,25 @@ public class BaseTest
 		{
 			datatable.remove();
 		}
+
+		ExtentManager.linkTestLog(TestLogRouter.finishTest());
+		ExtentManager.endTest();
+		EventLog.endTest(switch (result.getStatus())
+		{
+		case ITestResult.SUCCESS -> "PASS";
+		case ITestResult.FAILURE -> "FAIL";
+		case ITestResult.SKIP -> "SKIP";
+		default -> String.valueOf(result.getStatus());
+		});
 	}
 
 	@AfterSuite(alwaysRun = true)
 	public void afterSuite()
 	{
+		ScreenshotStore.awaitPendingWrites();
+		DatabaseUtils.closeAllConnections();
+		AsyncRestClient.shutdown();
+		ResponseCache.logStats();
 		ExtentManager.flushReports();
 		if (GridManager.isGrid.get().equals(true))
 		{
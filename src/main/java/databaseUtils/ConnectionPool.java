@@ -0,0 +1,195 @@
+package databaseUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reporting.TestLogManager;
+
+/**
+ * Small JDBC connection pool, one per (URL, user, password) combination.
+ *
+ * Connections are validated when they have been idle for a while, idle
+ * connections above the minimum size are evicted in the background, and each
+ * pooled connection keeps its own prepared-statement cache. Sizing is read
+ * from system properties:
+ * <ul>
+ * <li>db.pool.minSize - connections kept open once created (default 1)</li>
+ * <li>db.pool.maxSize - upper bound of open connections per pool (default 8)</li>
+ * <li>db.pool.idleTimeoutMs - idle time before eviction (default 300000)</li>
+ * <li>db.pool.borrowTimeoutMs - wait for a free connection (default 30000)</li>
+ * <li>db.pool.validateAfterMs - idle time after which a borrowed connection is validated (default 5000)</li>
+ * <li>db.pool.statementCacheSize - prepared statements cached per connection (default 32)</li>
+ * </ul>
+ */
+public final class ConnectionPool {
+
+    private static final int MIN_SIZE = Integer.parseInt(System.getProperty("db.pool.minSize", "1"));
+    private static final int MAX_SIZE = Integer.parseInt(System.getProperty("db.pool.maxSize", "8"));
+    private static final long IDLE_TIMEOUT_MS = Long.parseLong(System.getProperty("db.pool.idleTimeoutMs", "300000"));
+    private static final long BORROW_TIMEOUT_MS = Long.parseLong(System.getProperty("db.pool.borrowTimeoutMs", "30000"));
+    private static final long VALIDATE_AFTER_MS = Long.parseLong(System.getProperty("db.pool.validateAfterMs", "5000"));
+    static final int STATEMENT_CACHE_SIZE = Integer.parseInt(System.getProperty("db.pool.statementCacheSize", "32"));
+
+    private static final Map<String, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "db-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        evictor.scheduleWithFixedDelay(ConnectionPool::evictIdleConnections, 30, 30, TimeUnit.SECONDS);
+    }
+
+    private final String dbUrl;
+    private final String username;
+    private final String password;
+    // Most recently released first, so the tail holds the longest-idle connections
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits = new Semaphore(MAX_SIZE, true);
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private ConnectionPool(String dbUrl, String username, String password) {
+        this.dbUrl = dbUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Get (or create) the pool for the given URL and user.
+     */
+    public static ConnectionPool of(String dbUrl, String username, String password) {
+        return pools.computeIfAbsent(key(dbUrl, username, password), key -> new ConnectionPool(dbUrl, username, password));
+    }
+
+    /**
+     * Key of the pool (and schema cache) for these credentials. The password
+     * is part of it as a hash, so a changed password never reuses connections
+     * opened with the old one.
+     */
+    static String key(String dbUrl, String username, String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(String.valueOf(password).getBytes(StandardCharsets.UTF_8));
+            return dbUrl + "|" + username + "|" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Borrow a connection. Closing the returned connection hands it back to the pool.
+     */
+    public PooledConnection borrow() throws SQLException {
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a pooled connection to: " + dbUrl);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    pooled.markBorrowed();
+                    return pooled;
+                }
+                destroy(pooled);
+            }
+            return open();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        try {
+            Connection connection = pooled.getConnection();
+            if (connection.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            pooled.touch();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            TestLogManager.warning("Discarding broken pooled connection: " + e.getMessage());
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Close every idle connection of every pool. Borrowed connections are
+     * closed when they are returned.
+     */
+    public static void shutdownAll() {
+        for (ConnectionPool pool : pools.values()) {
+            PooledConnection pooled;
+            while ((pooled = pool.idle.pollFirst()) != null) {
+                pool.destroy(pooled);
+            }
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(dbUrl, username, password);
+        openConnections.incrementAndGet();
+        TestLogManager.success("Database connection established (" + openConnections.get() + " open): " + dbUrl);
+        return new PooledConnection(this, connection);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.getLastUsed() < VALIDATE_AFTER_MS) {
+            return true;
+        }
+        try {
+            return pooled.getConnection().isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        openConnections.decrementAndGet();
+        pooled.closePhysical();
+    }
+
+    private static void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        for (ConnectionPool pool : pools.values()) {
+            Iterator<PooledConnection> oldestFirst = pool.idle.descendingIterator();
+            while (oldestFirst.hasNext()) {
+                PooledConnection pooled = oldestFirst.next();
+                if (pool.openConnections.get() <= MIN_SIZE) {
+                    break;
+                }
+                if (now - pooled.getLastUsed() > IDLE_TIMEOUT_MS && pool.idle.remove(pooled)) {
+                    pool.destroy(pooled);
+                }
+            }
+        }
+    }
+}
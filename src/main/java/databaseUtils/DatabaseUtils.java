@@ -2,6 +2,7 @@ package databaseUtils;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -33,25 +34,24 @@ public class DatabaseUtils {
     }
 
     public static List<Map<String, String>> executeQuery(String dbUrl, String username, String password, String query) {
-        Connection connection = null;
-        Statement statement = null;
-        ResultSet resultSet = null;
+        return executeQuery(dbUrl, username, password, query, new Object[0]);
+    }
 
-        try {
-            connection = getConnection(dbUrl, username, password);
-            statement = connection.createStatement();
-            resultSet = statement.executeQuery(query);
+    /**
+     * Run a parameterised query on a pooled connection. The statement is prepared
+     * once per connection and reused from the statement cache afterwards.
+     */
+    public static List<Map<String, String>> executeQuery(String dbUrl, String username, String password, String query, Object... params) {
+        try (PooledConnection connection = ConnectionPool.of(dbUrl, username, password).borrow();
+                ResultSet resultSet = connection.prepare(query, params).executeQuery()) {
 
             List<Map<String, String>> results = new ArrayList<>();
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
+            String[] columnNames = columnNames(resultSet.getMetaData());
 
             while (resultSet.next()) {
-                Map<String, String> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    String value = resultSet.getString(i);
-                    row.put(columnName, value);
+                Map<String, String> row = new HashMap<>(columnNames.length * 2);
+                for (int i = 0; i < columnNames.length; i++) {
+                    row.put(columnNames[i], resultSet.getString(i + 1));
                 }
                 results.add(row);
             }
@@ -64,19 +64,87 @@ public class DatabaseUtils {
             TestLogManager.error("Failed to execute query", e);
             ExtentManager.failTest("Failed to execute query: " + query + " -> " + e.getMessage());
             throw new RuntimeException("Failed to execute query", e);
-        } finally {
-            closeResources(connection, statement, resultSet);
         }
     }
 
+    /**
+     * Stream a query row by row instead of materialising it, so large tables
+     * are validated in constant memory. A single {@link Row} instance is reused
+     * for every record.
+     *
+     * @param fetchSize rows the driver fetches per round-trip (0 keeps the
+     *                  driver default; MySQL only streams with Integer.MIN_VALUE
+     *                  or useCursorFetch=true on the URL)
+     * @return number of rows passed to the consumer
+     */
+    public static long stream(String dbUrl, String username, String password, String query, int fetchSize,
+                              RowConsumer consumer, Object... params) {
+        try {
+            long rowCount = streamRows(dbUrl, username, password, query, fetchSize, consumer, params);
+            TestLogManager.dataInfo("Query streamed", "Rows read: " + rowCount);
+            ExtentManager.infoTest("Query streamed: " + query + " -> Rows read: " + rowCount);
+            return rowCount;
+
+        } catch (SQLException e) {
+            TestLogManager.error("Failed to stream query", e);
+            ExtentManager.failTest("Failed to stream query: " + query + " -> " + e.getMessage());
+            throw new RuntimeException("Failed to stream query", e);
+        }
+    }
+
+    /**
+     * Streaming core without report logging, safe to call from worker threads
+     * that have no Extent test attached.
+     */
+    static long streamRows(String dbUrl, String username, String password, String query, int fetchSize,
+                           RowConsumer consumer, Object... params) throws SQLException {
+        try (PooledConnection connection = ConnectionPool.of(dbUrl, username, password).borrow()) {
+            if (fetchSize > 0) {
+                // PostgreSQL only uses a server-side cursor outside auto-commit;
+                // the pool rolls back and restores auto-commit on release
+                connection.getConnection().setAutoCommit(false);
+            }
+            PreparedStatement statement = connection.prepare(query, params);
+            int defaultFetchSize = statement.getFetchSize();
+            statement.setFetchSize(fetchSize);
+
+            long rowCount = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Row row = Row.forColumns(columnNames(resultSet.getMetaData()));
+                int columnCount = row.size();
+                while (resultSet.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        row.set(i, resultSet.getString(i + 1));
+                    }
+                    consumer.accept(row);
+                    rowCount++;
+                }
+            } finally {
+                statement.setFetchSize(defaultFetchSize);
+            }
+            return rowCount;
+        }
+    }
+
+    private static String[] columnNames(ResultSetMetaData metaData) throws SQLException {
+        String[] columnNames = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = metaData.getColumnName(i + 1);
+        }
+        return columnNames;
+    }
+
     public static int executeUpdate(String dbUrl, String username, String password, String query) {
-        Connection connection = null;
-        Statement statement = null;
+        return executeUpdate(dbUrl, username, password, query, new Object[0]);
+    }
 
-        try {
-            connection = getConnection(dbUrl, username, password);
-            statement = connection.createStatement();
-            int rowsAffected = statement.executeUpdate(query);
+    /**
+     * Run a parameterised insert/update/delete on a pooled connection.
+     */
+    public static int executeUpdate(String dbUrl, String username, String password, String query, Object... params) {
+        try (PooledConnection connection = ConnectionPool.of(dbUrl, username, password).borrow()) {
+            int rowsAffected = connection.prepare(query, params).executeUpdate();
+            SchemaCache.invalidateIfDdl(dbUrl, username, password, query);
 
             TestLogManager.dataInfo("Update query executed", "Rows affected: " + rowsAffected);
             ExtentManager.infoTest("Update query executed: " + query + " -> Rows affected: " + rowsAffected);
@@ -86,26 +154,81 @@ public class DatabaseUtils {
             TestLogManager.error("Failed to execute update query", e);
             ExtentManager.failTest("Failed to execute update query: " + query + " -> " + e.getMessage());
             throw new RuntimeException("Failed to execute update query", e);
-        } finally {
-            closeResources(connection, statement, null);
         }
     }
 
-    private static void closeResources(Connection connection, Statement statement, ResultSet resultSet) {
+    /**
+     * Execute a parameterised statement for many rows using JDBC batching.
+     * Every batch is committed as its own transaction, so a failure rolls back
+     * only the batch in flight; rows in earlier batches stay committed.
+     *
+     * @param rows      parameter values per row, bound positionally
+     * @param batchSize rows per executeBatch/commit
+     * @return total rows affected
+     */
+    public static int executeBatch(String dbUrl, String username, String password, String query, Iterable<Object[]> rows, int batchSize) {
+        int totalAffected = 0;
+        int committedRows = 0;
+        try (PooledConnection connection = ConnectionPool.of(dbUrl, username, password).borrow()) {
+            connection.getConnection().setAutoCommit(false);
+            PreparedStatement statement = connection.prepare(query);
+            int pending = 0;
+
+            for (Object[] row : rows) {
+                PooledConnection.bind(statement, row);
+                statement.addBatch();
+                if (++pending == Math.max(1, batchSize)) {
+                    totalAffected += flushBatch(connection, statement);
+                    committedRows += pending;
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                totalAffected += flushBatch(connection, statement);
+                committedRows += pending;
+            }
+            SchemaCache.invalidateIfDdl(dbUrl, username, password, query);
+
+            TestLogManager.dataInfo("Batch executed", "Rows: " + committedRows + ", Rows affected: " + totalAffected);
+            ExtentManager.infoTest("Batch executed: " + query + " -> Rows: " + committedRows + ", Rows affected: " + totalAffected);
+            return totalAffected;
+
+        } catch (SQLException e) {
+            TestLogManager.error("Failed to execute batch after " + committedRows + " committed rows", e);
+            ExtentManager.failTest("Failed to execute batch: " + query + " -> committed rows: " + committedRows + " -> " + e.getMessage());
+            throw new RuntimeException("Failed to execute batch", e);
+        }
+    }
+
+    private static int flushBatch(PooledConnection connection, PreparedStatement statement) throws SQLException {
+        int affected = 0;
         try {
-            if (resultSet != null) resultSet.close();
-            if (statement != null) statement.close();
-            if (connection != null) connection.close();
-            TestLogManager.info("Database resources closed");
-            ExtentManager.infoTest("Database resources closed");
+            for (int count : statement.executeBatch()) {
+                // SUCCESS_NO_INFO still means the row was applied
+                affected += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+            connection.getConnection().commit();
+            return affected;
         } catch (SQLException e) {
-            TestLogManager.error("Failed to close database resources", e);
-            ExtentManager.failTest("Failed to close database resources: " + e.getMessage());
+            statement.clearBatch();
+            connection.getConnection().rollback();
+            throw e;
         }
     }
 
+    /**
+     * Close all idle pooled connections, e.g. at the end of the suite.
+     */
+    public static void closeAllConnections() {
+        ConnectionPool.shutdownAll();
+    }
+
     public static String getSingleValue(String dbUrl, String username, String password, String query) {
-        List<Map<String, String>> results = executeQuery(dbUrl, username, password, query);
+        return getSingleValue(dbUrl, username, password, query, new Object[0]);
+    }
+
+    public static String getSingleValue(String dbUrl, String username, String password, String query, Object... params) {
+        List<Map<String, String>> results = executeQuery(dbUrl, username, password, query, params);
 
         if (results.isEmpty()) {
             TestLogManager.warning("No results found for query");
@@ -128,11 +251,14 @@ public class DatabaseUtils {
 
     public static boolean tableExists(String dbUrl, String username, String password, String tableName) {
         try {
-            String query = "SELECT COUNT(*) FROM " + tableName + " WHERE 1=0";
-            executeQuery(dbUrl, username, password, query);
-            TestLogManager.success("Table exists: " + tableName);
-            ExtentManager.infoTest("Table exists: " + tableName);
-            return true;
+            if (SchemaCache.of(dbUrl, username, password).tableExists(tableName)) {
+                TestLogManager.success("Table exists: " + tableName);
+                ExtentManager.infoTest("Table exists: " + tableName);
+                return true;
+            }
+            TestLogManager.warning("Table does not exist: " + tableName);
+            ExtentManager.warningTest("Table does not exist: " + tableName);
+            return false;
         } catch (Exception e) {
             TestLogManager.warning("Table does not exist: " + tableName);
             ExtentManager.warningTest("Table does not exist: " + tableName);
@@ -155,12 +281,29 @@ public class DatabaseUtils {
         }
     }
 
-    public static List<String> getTableColumns(String dbUrl, String username, String password, String tableName) {
+    /**
+     * Fast row count from catalog statistics, falling back to an exact
+     * COUNT(*) when the database keeps no estimate for the table.
+     */
+    public static long getApproximateRowCount(String dbUrl, String username, String password, String tableName) {
         try {
-            String query = "SELECT * FROM " + tableName + " WHERE 1=0";
-            List<Map<String, String>> results = executeQuery(dbUrl, username, password, query);
+            long estimate = SchemaCache.of(dbUrl, username, password).getApproximateRowCount(tableName);
+            if (estimate < 0) {
+                return getTableRowCount(dbUrl, username, password, tableName);
+            }
+            TestLogManager.dataInfo("Approximate table row count", tableName + " -> " + estimate);
+            ExtentManager.infoTest("Approximate table row count: " + tableName + " -> " + estimate);
+            return estimate;
+        } catch (Exception e) {
+            TestLogManager.error("Failed to get approximate row count: " + tableName, e);
+            ExtentManager.failTest("Failed to get approximate row count: " + tableName + " -> " + e.getMessage());
+            return -1;
+        }
+    }
 
-            List<String> columns = results.isEmpty() ? new ArrayList<>() : new ArrayList<>(results.get(0).keySet());
+    public static List<String> getTableColumns(String dbUrl, String username, String password, String tableName) {
+        try {
+            List<String> columns = new ArrayList<>(SchemaCache.of(dbUrl, username, password).getColumns(tableName));
             TestLogManager.dataInfo("Table columns", tableName + " -> " + columns);
             ExtentManager.infoTest("Table columns: " + tableName + " -> " + columns);
             return columns;
@@ -188,13 +331,17 @@ public class DatabaseUtils {
         }
     }
 
+    /**
+     * Order-insensitive comparison of two query results. Both queries are
+     * streamed concurrently; see {@link #reconcile} for a keyed diff.
+     */
     public static boolean compareQueryResults(String dbUrl1, String username1, String password1, String query1,
                                               String dbUrl2, String username2, String password2, String query2) {
         try {
-            List<Map<String, String>> results1 = executeQuery(dbUrl1, username1, password1, query1);
-            List<Map<String, String>> results2 = executeQuery(dbUrl2, username2, password2, query2);
+            ResultSetReconciler.Result result = reconcile(dbUrl1, username1, password1, query1,
+                    dbUrl2, username2, password2, query2, List.of());
 
-            boolean areEqual = results1.equals(results2);
+            boolean areEqual = result.isMatch();
             TestLogManager.dataInfo("Query results comparison", "Equal: " + areEqual);
             ExtentManager.infoTest("Query results comparison: Equal -> " + areEqual);
             return areEqual;
@@ -205,6 +352,32 @@ public class DatabaseUtils {
         }
     }
 
+    /**
+     * Reconcile two query results by key columns and report missing, extra and
+     * mismatched rows. Works on result sets larger than memory.
+     *
+     * @param keyColumns columns identifying a row on both sides; empty compares whole rows
+     */
+    public static ResultSetReconciler.Result reconcile(String dbUrl1, String username1, String password1, String query1,
+                                                       String dbUrl2, String username2, String password2, String query2,
+                                                       List<String> keyColumns) {
+        try {
+            ResultSetReconciler.Result result = new ResultSetReconciler(keyColumns).reconcile(dbUrl1, username1, password1, query1,
+                    dbUrl2, username2, password2, query2);
+            TestLogManager.dataInfo("Query results reconciliation", result.toString());
+            if (result.isMatch()) {
+                ExtentManager.infoTest("Query results reconciliation: " + result);
+            } else {
+                ExtentManager.warningTest("Query results reconciliation: " + result);
+            }
+            return result;
+        } catch (SQLException e) {
+            TestLogManager.error("Failed to reconcile query results", e);
+            ExtentManager.failTest("Failed to reconcile query results: " + e.getMessage());
+            throw new RuntimeException("Failed to reconcile query results", e);
+        }
+    }
+
     public static void loadDriver(String driverClassName) {
         try {
             Class.forName(driverClassName);
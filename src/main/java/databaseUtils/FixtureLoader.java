@@ -0,0 +1,100 @@
+package databaseUtils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import data.FileUtils;
+import reporting.ExtentManager;
+import reporting.TestLogManager;
+
+/**
+ * Bulk-loads fixture rows from CSV or XLSX into a table through
+ * {@link DatabaseUtils#executeBatch}. The first row of the file holds the
+ * column names; empty cells are inserted as NULL. XLSX columns without a
+ * header are left out.
+ */
+public class FixtureLoader {
+
+    public static int loadCsv(String dbUrl, String username, String password, String tableName, String csvPath, int batchSize) {
+        List<String> headers = FileUtils.getCSVHeaders(csvPath);
+        List<Map<String, String>> records = FileUtils.csvFileReader(csvPath);
+
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (Map<String, String> record : records) {
+            Object[] values = new Object[headers.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = emptyToNull(record.get(headers.get(i)));
+            }
+            rows.add(values);
+        }
+        return load(dbUrl, username, password, tableName, headers, rows, batchSize, csvPath);
+    }
+
+    public static int loadXlsx(String dbUrl, String username, String password, String tableName, String xlsxPath, String sheetName, int batchSize) {
+        try (FileInputStream fis = new FileInputStream(xlsxPath);
+             XSSFWorkbook workbook = new XSSFWorkbook(fis)) {
+
+            XSSFSheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null || sheet.getRow(sheet.getFirstRowNum()) == null) {
+                TestLogManager.warning("Sheet not found or empty: " + sheetName);
+                ExtentManager.warningTest("Fixture sheet not found or empty: " + xlsxPath + " [" + sheetName + "]");
+                return 0;
+            }
+
+            // DataFormatter is not thread-safe, so each load gets its own
+            DataFormatter formatter = new DataFormatter();
+            XSSFRow headerRow = sheet.getRow(sheet.getFirstRowNum());
+            List<String> headers = new ArrayList<>();
+            List<Integer> columnIndexes = new ArrayList<>();
+            // By index, so a blank header cell never shifts the columns after it
+            for (int c = Math.max(0, headerRow.getFirstCellNum()); c < headerRow.getLastCellNum(); c++) {
+                String header = formatter.formatCellValue(headerRow.getCell(c)).trim();
+                if (!header.isEmpty()) {
+                    headers.add(header);
+                    columnIndexes.add(c);
+                }
+            }
+
+            List<Object[]> rows = new ArrayList<>(sheet.getLastRowNum());
+            for (int r = sheet.getFirstRowNum() + 1; r <= sheet.getLastRowNum(); r++) {
+                XSSFRow row = sheet.getRow(r);
+                if (row == null) {
+                    continue;
+                }
+                Object[] values = new Object[headers.size()];
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = emptyToNull(formatter.formatCellValue(row.getCell(columnIndexes.get(c))));
+                }
+                rows.add(values);
+            }
+            return load(dbUrl, username, password, tableName, headers, rows, batchSize, xlsxPath + " [" + sheetName + "]");
+
+        } catch (IOException e) {
+            TestLogManager.error("Failed to read fixture workbook: " + xlsxPath, e);
+            ExtentManager.failTest("Failed to read fixture workbook: " + xlsxPath + " -> " + e.getMessage());
+            throw new RuntimeException("Failed to read fixture workbook", e);
+        }
+    }
+
+    private static int load(String dbUrl, String username, String password, String tableName, List<String> columns,
+                            List<Object[]> rows, int batchSize, String source) {
+        String insert = "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        int inserted = DatabaseUtils.executeBatch(dbUrl, username, password, insert, rows, batchSize);
+        TestLogManager.dataInfo("Fixture loaded", source + " -> " + tableName + ": " + inserted + " rows");
+        return inserted;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,155 @@
+package databaseUtils;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reporting.TestLogManager;
+
+/**
+ * A connection borrowed from a {@link ConnectionPool}.
+ *
+ * Only one thread uses a pooled connection at a time, so the statement cache
+ * needs no locking. Closing this object returns the connection to its pool;
+ * cached statements stay open and are reused by the next borrower.
+ */
+public final class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    // Read by borrowers validating an idle connection, written on release
+    private volatile long lastUsed = System.currentTimeMillis();
+    // Makes close() idempotent until the next borrow
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    // LRU: the least recently used statement is closed once the cache is full
+    private final Map<String, PreparedStatement> statementCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > ConnectionPool.STATEMENT_CACHE_SIZE) {
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+    }
+
+    /**
+     * Get the cached statement for this SQL (preparing it on first use) with
+     * the given parameters bound in order. Callers must not close it.
+     */
+    public PreparedStatement prepare(String sql, Object... params) throws SQLException {
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            statementCache.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        bind(statement, params);
+        return statement;
+    }
+
+    /**
+     * Bind parameters positionally. Nulls are bound as SQL NULL of the type the
+     * driver reports for the parameter, or VARCHAR if it cannot tell; some
+     * drivers (e.g. Oracle) reject Types.NULL.
+     */
+    static void bind(PreparedStatement statement, Object... params) throws SQLException {
+        if (params == null) {
+            return;
+        }
+        ParameterMetaData metaData = null;
+        boolean metaDataRead = false;
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] == null) {
+                if (!metaDataRead) {
+                    metaDataRead = true;
+                    metaData = parameterMetaData(statement);
+                }
+                statement.setNull(i + 1, nullType(metaData, i + 1));
+            } else {
+                statement.setObject(i + 1, params[i]);
+            }
+        }
+    }
+
+    private static ParameterMetaData parameterMetaData(PreparedStatement statement) {
+        try {
+            return statement.getParameterMetaData();
+        } catch (SQLException e) {
+            // not supported by every driver
+            return null;
+        }
+    }
+
+    private static int nullType(ParameterMetaData metaData, int index) {
+        if (metaData != null) {
+            try {
+                int type = metaData.getParameterType(index);
+                if (type != Types.NULL) {
+                    return type;
+                }
+            } catch (SQLException e) {
+                // fall through to VARCHAR
+            }
+        }
+        return Types.VARCHAR;
+    }
+
+    /**
+     * The underlying physical connection, for direct JDBC access. Do not close it.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    void markBorrowed() {
+        released.set(false);
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(this);
+        }
+    }
+
+    void closePhysical() {
+        for (PreparedStatement statement : statementCache.values()) {
+            closeQuietly(statement);
+        }
+        statementCache.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            TestLogManager.warning("Failed to close pooled connection: " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // statement is being discarded anyway
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package databaseUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Order-insensitive comparison of two (possibly very large) query results.
+ *
+ * Both queries are streamed concurrently. Every row is reduced to a key (the
+ * key columns, or the whole row when none are given) and a 64-bit hash of the
+ * remaining columns, then routed into one of a fixed number of hash
+ * partitions. Once a side holds more than {@code db.reconcile.maxInMemoryRows}
+ * entries its partitions are spilled to temp files. Partitions are then
+ * compared one at a time, so only a single partition is ever materialised.
+ */
+public final class ResultSetReconciler {
+
+    private static final int PARTITIONS = Integer.parseInt(System.getProperty("db.reconcile.partitions", "64"));
+    private static final int MAX_IN_MEMORY_ROWS = Integer.parseInt(System.getProperty("db.reconcile.maxInMemoryRows", "1000000"));
+    private static final int FETCH_SIZE = Integer.parseInt(System.getProperty("db.reconcile.fetchSize", "1000"));
+    private static final int SAMPLE_SIZE = 20;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final List<String> keyColumns;
+
+    /**
+     * @param keyColumns columns identifying a row on both sides; empty means the
+     *                   whole row is the key (columns matched by label) and only
+     *                   missing/extra rows are reported
+     */
+    public ResultSetReconciler(List<String> keyColumns) {
+        this.keyColumns = keyColumns == null ? List.of() : List.copyOf(keyColumns);
+    }
+
+    public Result reconcile(String dbUrl1, String username1, String password1, String query1,
+                            String dbUrl2, String username2, String password2, String query2) throws SQLException {
+        Path workDir = null;
+        Side source = null;
+        Side target = null;
+        Future<Long> sourceRows = null;
+        Future<Long> targetRows = null;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            workDir = Files.createTempDirectory("db-reconcile");
+            Side sourceSide = new Side(workDir, "source", null);
+            Side targetSide = new Side(workDir, "target", sourceSide);
+            source = sourceSide;
+            target = targetSide;
+
+            sourceRows = executor.submit(() -> {
+                try {
+                    return DatabaseUtils.streamRows(dbUrl1, username1, password1, query1, FETCH_SIZE, sourceSide::add);
+                } finally {
+                    // Release the target side if the source produced no rows or failed
+                    sourceSide.columns.complete(null);
+                }
+            });
+            targetRows = executor.submit(() -> DatabaseUtils.streamRows(dbUrl2, username2, password2, query2, FETCH_SIZE, targetSide::add));
+
+            Result result = new Result(await(sourceRows), await(targetRows));
+            source.finish();
+            target.finish();
+
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                comparePartition(source, target, partition, result);
+            }
+            return result;
+        } catch (IOException | UncheckedIOException e) {
+            throw new SQLException("Failed to spill reconciliation data to disk", e);
+        } finally {
+            // If one side failed the other may still be streaming and spilling into workDir
+            cancel(sourceRows);
+            cancel(targetRows);
+            executor.shutdownNow();
+            if (awaitTermination(executor)) {
+                finishQuietly(source);
+                finishQuietly(target);
+                deleteQuietly(workDir);
+            }
+        }
+    }
+
+    private void comparePartition(Side source, Side target, int partition, Result result) throws IOException {
+        // key -> value hash -> remaining occurrences
+        Map<String, Map<Long, Integer>> expected = new HashMap<>();
+        source.forEach(partition, (key, hash) ->
+                expected.computeIfAbsent(key, k -> new HashMap<>()).merge(hash, 1, Integer::sum));
+
+        // Take exact matches first; target rows left over per key are paired
+        // with the source rows left over for it afterwards
+        Map<String, Integer> unmatched = new HashMap<>();
+        target.forEach(partition, (key, hash) -> {
+            Map<Long, Integer> hashes = expected.get(key);
+            Integer remaining = hashes == null ? null : hashes.get(hash);
+            if (remaining == null) {
+                unmatched.merge(key, 1, Integer::sum);
+                return;
+            }
+            if (remaining == 1) {
+                hashes.remove(hash);
+                if (hashes.isEmpty()) {
+                    expected.remove(key);
+                }
+            } else {
+                hashes.put(hash, remaining - 1);
+            }
+            result.matched++;
+        });
+
+        for (Map.Entry<String, Integer> entry : unmatched.entrySet()) {
+            String key = entry.getKey();
+            int sourceLeft = count(expected.remove(key));
+            int targetLeft = entry.getValue();
+            int paired = Math.min(sourceLeft, targetLeft);
+            for (int i = 0; i < paired; i++) {
+                result.mismatched(key);
+            }
+            for (int i = paired; i < targetLeft; i++) {
+                result.extra(key);
+            }
+            for (int i = paired; i < sourceLeft; i++) {
+                result.missing(key);
+            }
+        }
+
+        for (Map.Entry<String, Map<Long, Integer>> entry : expected.entrySet()) {
+            for (int i = count(entry.getValue()); i > 0; i--) {
+                result.missing(entry.getKey());
+            }
+        }
+    }
+
+    private static int count(Map<Long, Integer> hashes) {
+        if (hashes == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int occurrences : hashes.values()) {
+            count += occurrences;
+        }
+        return count;
+    }
+
+    private static long await(Future<Long> rows) throws SQLException {
+        try {
+            return rows.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while reading query results", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to read query results", e.getCause());
+        }
+    }
+
+    private static void cancel(Future<Long> rows) {
+        if (rows != null) {
+            rows.cancel(true);
+        }
+    }
+
+    /**
+     * @return false when the streaming threads are still running (e.g. a driver
+     *         ignoring the interrupt), in which case the work directory is left behind
+     */
+    private static boolean awaitTermination(ExecutorService executor) {
+        try {
+            return executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void finishQuietly(Side side) {
+        if (side == null) {
+            return;
+        }
+        try {
+            side.finish();
+        } catch (IOException e) {
+            // only closing spill files that are about to be deleted
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // temp directory, nothing else to do
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the given columns, with separators so that
+     * ("ab", "c") and ("a", "bc") differ and null differs from "".
+     */
+    static long hash(Row row, int[] columns) {
+        long hash = 0xcbf29ce484222325L;
+        for (int column : columns) {
+            String value = row.get(column);
+            if (value == null) {
+                hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+            } else {
+                for (int i = 0; i < value.length(); i++) {
+                    hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+                }
+            }
+            hash = (hash ^ 0x1F) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(String key, long hash);
+    }
+
+    /**
+     * Partitioned key/hash entries of one query, spilled to disk when large.
+     * Only the thread streaming this side writes to it.
+     */
+    private final class Side {
+        private final Path workDir;
+        private final String name;
+        private final Side reference;
+        /** Column labels of this side, completed on the first row (null when there is none). */
+        private final CompletableFuture<String[]> columns = new CompletableFuture<>();
+        private final List<List<String>> keys = new ArrayList<>(PARTITIONS);
+        private final List<long[]> hashes = new ArrayList<>(PARTITIONS);
+        private final int[] sizes = new int[PARTITIONS];
+        private final DataOutputStream[] spillFiles = new DataOutputStream[PARTITIONS];
+        private int inMemory;
+        private int[] keyIndexes;
+        private int[] valueIndexes;
+
+        /**
+         * @param reference side whose column order a whole-row key follows, or null
+         */
+        Side(Path workDir, String name, Side reference) {
+            this.workDir = workDir;
+            this.name = name;
+            this.reference = reference;
+            for (int i = 0; i < PARTITIONS; i++) {
+                keys.add(new ArrayList<>());
+                hashes.add(new long[16]);
+            }
+        }
+
+        void add(Row row) throws SQLException {
+            if (keyIndexes == null) {
+                resolveColumns(row.getColumns());
+            }
+            String key = keyIndexes.length == 1 ? keyValue(row.get(keyIndexes[0])) : joinKey(row);
+            int partition = Math.floorMod(key.hashCode(), PARTITIONS);
+
+            keys.get(partition).add(key);
+            long[] partitionHashes = hashes.get(partition);
+            if (sizes[partition] == partitionHashes.length) {
+                partitionHashes = Arrays.copyOf(partitionHashes, partitionHashes.length * 2);
+                hashes.set(partition, partitionHashes);
+            }
+            partitionHashes[sizes[partition]++] = hash(row, valueIndexes);
+
+            if (++inMemory >= MAX_IN_MEMORY_ROWS) {
+                try {
+                    spill();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void resolveColumns(String[] columns) throws SQLException {
+            this.columns.complete(columns);
+            if (keyColumns.isEmpty()) {
+                // Whole row as key, nothing left to compare as a value
+                keyIndexes = alignColumns(columns);
+                valueIndexes = new int[0];
+                return;
+            }
+            List<String> columnList = List.of(columns);
+            keyIndexes = new int[keyColumns.size()];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                keyIndexes[i] = columnList.indexOf(keyColumns.get(i));
+                if (keyIndexes[i] < 0) {
+                    throw new SQLException("Key column " + keyColumns.get(i) + " not found in " + name + " query");
+                }
+            }
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < columns.length; i++) {
+                if (!keyColumns.contains(columns[i])) {
+                    values.add(i);
+                }
+            }
+            valueIndexes = values.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Indexes of this side's columns in the reference side's column order,
+         * matched by label, so that both sides build the same whole-row key.
+         */
+        private int[] alignColumns(String[] columns) throws SQLException {
+            String[] order = reference == null ? null : reference.awaitColumns();
+            int[] indexes = new int[columns.length];
+            if (order == null) {
+                for (int i = 0; i < columns.length; i++) {
+                    indexes[i] = i;
+                }
+                return indexes;
+            }
+            if (order.length != columns.length) {
+                throw new SQLException(reference.name + " query returns " + order.length + " columns but "
+                        + name + " query returns " + columns.length);
+            }
+            boolean[] used = new boolean[columns.length];
+            for (int i = 0; i < order.length; i++) {
+                indexes[i] = -1;
+                for (int j = 0; j < columns.length; j++) {
+                    if (!used[j] && columns[j].equalsIgnoreCase(order[i])) {
+                        indexes[i] = j;
+                        used[j] = true;
+                        break;
+                    }
+                }
+                if (indexes[i] < 0) {
+                    throw new SQLException("Column " + order[i] + " of " + reference.name + " query not found in " + name + " query");
+                }
+            }
+            return indexes;
+        }
+
+        private String[] awaitColumns() throws SQLException {
+            try {
+                return columns.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for " + name + " query columns", e);
+            } catch (ExecutionException e) {
+                throw new SQLException("Failed to read " + name + " query columns", e.getCause());
+            }
+        }
+
+        private String joinKey(Row row) {
+            StringBuilder key = new StringBuilder();
+            for (int index : keyIndexes) {
+                key.append(keyValue(row.get(index))).append('\u001F');
+            }
+            return key.toString();
+        }
+
+        private String keyValue(String value) {
+            return value == null ? "\u0000" : value;
+        }
+
+        private void spill() throws IOException {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                if (sizes[partition] == 0) {
+                    continue;
+                }
+                if (spillFiles[partition] == null) {
+                    spillFiles[partition] = new DataOutputStream(new BufferedOutputStream(
+                            Files.newOutputStream(spillPath(partition)), 1 << 16));
+                }
+                DataOutputStream out = spillFiles[partition];
+                List<String> partitionKeys = keys.get(partition);
+                long[] partitionHashes = hashes.get(partition);
+                for (int i = 0; i < sizes[partition]; i++) {
+                    byte[] key = partitionKeys.get(i).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(key.length);
+                    out.write(key);
+                    out.writeLong(partitionHashes[i]);
+                }
+                partitionKeys.clear();
+                hashes.set(partition, new long[16]);
+                sizes[partition] = 0;
+            }
+            inMemory = 0;
+        }
+
+        void finish() throws IOException {
+            for (DataOutputStream out : spillFiles) {
+                if (out != null) {
+                    out.close();
+                }
+            }
+        }
+
+        void forEach(int partition, EntryConsumer consumer) throws IOException {
+            if (spillFiles[partition] != null) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                        Files.newInputStream(spillPath(partition)), 1 << 16))) {
+                    while (true) {
+                        int length;
+                        try {
+                            length = in.readInt();
+                        } catch (EOFException e) {
+                            break;
+                        }
+                        byte[] key = new byte[length];
+                        in.readFully(key);
+                        consumer.accept(new String(key, StandardCharsets.UTF_8), in.readLong());
+                    }
+                }
+            }
+            List<String> partitionKeys = keys.get(partition);
+            long[] partitionHashes = hashes.get(partition);
+            for (int i = 0; i < sizes[partition]; i++) {
+                consumer.accept(partitionKeys.get(i), partitionHashes[i]);
+            }
+        }
+
+        private Path spillPath(int partition) {
+            return workDir.resolve(name + "-" + partition + ".bin");
+        }
+    }
+
+    /**
+     * Counts of matched, missing (only in the first query), extra (only in the
+     * second query) and mismatched rows, with a few sample keys of each.
+     */
+    public static final class Result {
+        private final long sourceRows;
+        private final long targetRows;
+        private long matched;
+        private long missing;
+        private long extra;
+        private long mismatched;
+        private final List<String> missingKeys = new ArrayList<>();
+        private final List<String> extraKeys = new ArrayList<>();
+        private final List<String> mismatchedKeys = new ArrayList<>();
+
+        Result(long sourceRows, long targetRows) {
+            this.sourceRows = sourceRows;
+            this.targetRows = targetRows;
+        }
+
+        void missing(String key) {
+            missing++;
+            sample(missingKeys, key);
+        }
+
+        void extra(String key) {
+            extra++;
+            sample(extraKeys, key);
+        }
+
+        void mismatched(String key) {
+            mismatched++;
+            sample(mismatchedKeys, key);
+        }
+
+        private static void sample(List<String> samples, String key) {
+            if (samples.size() < SAMPLE_SIZE) {
+                samples.add(key.replace('\u001F', '|'));
+            }
+        }
+
+        public boolean isMatch() {
+            return missing == 0 && extra == 0 && mismatched == 0;
+        }
+
+        public long getSourceRows() {
+            return sourceRows;
+        }
+
+        public long getTargetRows() {
+            return targetRows;
+        }
+
+        public long getMatched() {
+            return matched;
+        }
+
+        public long getMissing() {
+            return missing;
+        }
+
+        public long getExtra() {
+            return extra;
+        }
+
+        public long getMismatched() {
+            return mismatched;
+        }
+
+        public List<String> getMissingKeys() {
+            return missingKeys;
+        }
+
+        public List<String> getExtraKeys() {
+            return extraKeys;
+        }
+
+        public List<String> getMismatchedKeys() {
+            return mismatchedKeys;
+        }
+
+        @Override
+        public String toString() {
+            return "source rows=" + sourceRows + ", target rows=" + targetRows + ", matched=" + matched
+                    + ", missing=" + missing + (missingKeys.isEmpty() ? "" : " " + missingKeys)
+                    + ", extra=" + extra + (extraKeys.isEmpty() ? "" : " " + extraKeys)
+                    + ", mismatched=" + mismatched + (mismatchedKeys.isEmpty() ? "" : " " + mismatchedKeys);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package databaseUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One row of a streamed result set.
+ *
+ * Column names and their index are shared by every row of the same query,
+ * and the streaming API reuses a single Row instance, overwriting its values
+ * for each record. Use {@link #copy()} or {@link #toMap()} to keep a row
+ * beyond the consumer call.
+ */
+public final class Row {
+
+    private final String[] columns;
+    private final Map<String, Integer> columnIndex;
+    private final String[] values;
+
+    private Row(String[] columns, Map<String, Integer> columnIndex, String[] values) {
+        this.columns = columns;
+        this.columnIndex = columnIndex;
+        this.values = values;
+    }
+
+    static Row forColumns(String[] columns) {
+        Map<String, Integer> columnIndex = new HashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.putIfAbsent(columns[i], i);
+        }
+        return new Row(columns, columnIndex, new String[columns.length]);
+    }
+
+    void set(int index, String value) {
+        values[index] = value;
+    }
+
+    /**
+     * Value by zero-based column index.
+     */
+    public String get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Value by column label, or null if the query has no such column.
+     */
+    public String get(String column) {
+        Integer index = columnIndex.get(column);
+        return index == null ? null : values[index];
+    }
+
+    public int size() {
+        return columns.length;
+    }
+
+    /**
+     * Column labels shared by all rows of this result. Do not modify.
+     */
+    public String[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * Detached copy that shares the column metadata but owns its values.
+     */
+    public Row copy() {
+        return new Row(columns, columnIndex, values.clone());
+    }
+
+    /**
+     * Same shape as the rows returned by {@link DatabaseUtils#executeQuery}.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            map.put(columns[i], values[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,13 @@
+package databaseUtils;
+
+import java.sql.SQLException;
+
+/**
+ * Callback for {@link DatabaseUtils#stream}. The row instance is reused
+ * between calls.
+ */
+@FunctionalInterface
+public interface RowConsumer {
+
+    void accept(Row row) throws SQLException;
+}
@@ -0,0 +1,233 @@
+package databaseUtils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DatabaseMetaData}-backed cache of table and column names per
+ * connection URL and user.
+ *
+ * The table list of the current catalog/schema is read with a single
+ * getTables call and kept for {@code db.schemaCache.ttlMs} (default 10
+ * minutes); columns are read once per table. Names are matched
+ * case-insensitively and may be qualified as schema.table. Unknown names are
+ * looked up again on every call rather than cached, and DDL run through
+ * {@link DatabaseUtils} drops the cache of that connection.
+ */
+public final class SchemaCache {
+
+    private static final long TTL_MS = Long.parseLong(System.getProperty("db.schemaCache.ttlMs", "600000"));
+    private static final String[] TABLE_TYPES = { "TABLE", "VIEW" };
+    private static final Pattern DDL = Pattern.compile("^\\s*(CREATE|ALTER|DROP|RENAME)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Map<String, SchemaCache> caches = new ConcurrentHashMap<>();
+
+    private final ConnectionPool pool;
+    private final long loadedAt = System.currentTimeMillis();
+    private final String productName;
+    private final String catalog;
+    private final String schema;
+    // upper-case (optionally schema-qualified) name -> table as stored in the catalog
+    private final Map<String, TableRef> tables = new ConcurrentHashMap<>();
+    private final Map<TableRef, List<String>> columns = new ConcurrentHashMap<>();
+
+    private SchemaCache(ConnectionPool pool) throws SQLException {
+        this.pool = pool;
+        try (PooledConnection pooled = pool.borrow()) {
+            Connection connection = pooled.getConnection();
+            DatabaseMetaData metaData = connection.getMetaData();
+            productName = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT);
+            catalog = connection.getCatalog();
+            schema = connection.getSchema();
+            try (ResultSet rs = metaData.getTables(catalog, schema, "%", TABLE_TYPES)) {
+                while (rs.next()) {
+                    TableRef table = new TableRef(rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME"));
+                    tables.putIfAbsent(table.name.toUpperCase(Locale.ROOT), table);
+                    if (table.schema != null) {
+                        tables.putIfAbsent((table.schema + "." + table.name).toUpperCase(Locale.ROOT), table);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cache for the given connection, reloaded once the TTL has expired.
+     */
+    public static SchemaCache of(String dbUrl, String username, String password) throws SQLException {
+        String key = ConnectionPool.key(dbUrl, username, password);
+        SchemaCache cache = caches.get(key);
+        if (cache == null || System.currentTimeMillis() - cache.loadedAt > TTL_MS) {
+            cache = new SchemaCache(ConnectionPool.of(dbUrl, username, password));
+            caches.put(key, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Drop every cached schema, e.g. after DDL in a setup step.
+     */
+    public static void invalidateAll() {
+        caches.clear();
+    }
+
+    /**
+     * Drop the cached schema of the given connection if the statement is DDL.
+     */
+    static void invalidateIfDdl(String dbUrl, String username, String password, String query) {
+        if (DDL.matcher(query).find()) {
+            caches.remove(ConnectionPool.key(dbUrl, username, password));
+        }
+    }
+
+    public boolean tableExists(String tableName) throws SQLException {
+        return resolve(tableName).isPresent();
+    }
+
+    /**
+     * Column names in ordinal order, or an empty list if the table is unknown.
+     */
+    public List<String> getColumns(String tableName) throws SQLException {
+        Optional<TableRef> table = resolve(tableName);
+        if (table.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> cached = columns.get(table.get());
+        if (cached != null) {
+            return cached;
+        }
+        TableRef ref = table.get();
+        List<String> loaded = new ArrayList<>();
+        try (PooledConnection pooled = pool.borrow()) {
+            DatabaseMetaData metaData = pooled.getConnection().getMetaData();
+            // The schema and table arguments are LIKE patterns, so '_' and '%' in real names must be escaped
+            String escape = metaData.getSearchStringEscape();
+            try (ResultSet rs = metaData.getColumns(ref.catalog, escape(ref.schema, escape), escape(ref.name, escape), "%")) {
+                while (rs.next()) {
+                    if (ref.name.equals(rs.getString("TABLE_NAME")) && (ref.schema == null || ref.schema.equals(rs.getString("TABLE_SCHEM")))) {
+                        loaded.add(rs.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+        }
+        loaded = Collections.unmodifiableList(loaded);
+        columns.put(ref, loaded);
+        return loaded;
+    }
+
+    private static String escape(String name, String escape) {
+        if (name == null || escape == null || escape.isEmpty()) {
+            return name;
+        }
+        return name.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+    }
+
+    /**
+     * Row count estimate from the database's catalog statistics (MySQL,
+     * PostgreSQL, SQL Server, Oracle). Statistics can lag behind recent
+     * writes. Returns -1 if the table is unknown or the database keeps no
+     * usable estimate.
+     */
+    public long getApproximateRowCount(String tableName) throws SQLException {
+        Optional<TableRef> table = resolve(tableName);
+        String query = approximateCountQuery();
+        if (table.isEmpty() || query == null) {
+            return -1;
+        }
+        try (PooledConnection pooled = pool.borrow()) {
+            PreparedStatement statement = pooled.prepare(query, approximateCountParams(table.get()));
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    long estimate = rs.getLong(1);
+                    return rs.wasNull() || estimate < 0 ? -1 : estimate;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Optional<TableRef> resolve(String tableName) throws SQLException {
+        String key = tableName.trim().toUpperCase(Locale.ROOT);
+        TableRef cached = tables.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Not loaded yet (qualified, or created since): look it up, and remember only hits
+        Optional<TableRef> table;
+        int dot = tableName.lastIndexOf('.');
+        try (PooledConnection pooled = pool.borrow()) {
+            DatabaseMetaData metaData = pooled.getConnection().getMetaData();
+            if (dot > 0) {
+                table = findTable(metaData, tableName.substring(0, dot).trim(), tableName.substring(dot + 1).trim());
+            } else {
+                table = findTable(metaData, null, tableName.trim());
+            }
+        }
+        table.ifPresent(found -> tables.put(key, found));
+        return table;
+    }
+
+    private Optional<TableRef> findTable(DatabaseMetaData metaData, String tableSchema, String name) throws SQLException {
+        // MySQL exposes databases as catalogs, everything else as schemas
+        boolean schemaIsCatalog = productName.contains("mysql") || productName.contains("mariadb");
+        String tableCatalog = tableSchema == null ? catalog : schemaIsCatalog ? tableSchema : catalog;
+        String schemaPattern = escape(tableSchema == null ? schema : schemaIsCatalog ? null : tableSchema, metaData.getSearchStringEscape());
+
+        // Look the name up in the case unquoted identifiers are stored in, then as given
+        // (quoted identifiers); only case-sensitive mixed-case storage needs the full scan
+        String stored = metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT)
+                : metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+        Optional<TableRef> table = findTable(metaData, tableCatalog, schemaPattern, escape(stored, metaData.getSearchStringEscape()), name);
+        if (table.isEmpty() && !stored.equals(name)) {
+            table = findTable(metaData, tableCatalog, schemaPattern, escape(name, metaData.getSearchStringEscape()), name);
+        }
+        if (table.isEmpty() && metaData.supportsMixedCaseIdentifiers()) {
+            table = findTable(metaData, tableCatalog, schemaPattern, "%", name);
+        }
+        return table;
+    }
+
+    private Optional<TableRef> findTable(DatabaseMetaData metaData, String tableCatalog, String schemaPattern,
+                                         String namePattern, String name) throws SQLException {
+        try (ResultSet rs = metaData.getTables(tableCatalog, schemaPattern, namePattern, TABLE_TYPES)) {
+            while (rs.next()) {
+                if (rs.getString("TABLE_NAME").equalsIgnoreCase(name)) {
+                    return Optional.of(new TableRef(rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME")));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private String approximateCountQuery() {
+        if (productName.contains("mysql") || productName.contains("mariadb")) {
+            return "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+        } else if (productName.contains("postgresql")) {
+            return "SELECT c.reltuples::bigint FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = ? AND c.relname = ?";
+        } else if (productName.contains("microsoft sql server")) {
+            return "SELECT SUM(p.rows) FROM sys.partitions p WHERE p.object_id = OBJECT_ID(QUOTENAME(?) + '.' + QUOTENAME(?)) AND p.index_id IN (0, 1)";
+        } else if (productName.contains("oracle")) {
+            return "SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = ? AND TABLE_NAME = ?";
+        }
+        return null;
+    }
+
+    private Object[] approximateCountParams(TableRef table) {
+        String owner = productName.contains("mysql") || productName.contains("mariadb") ? table.catalog : table.schema;
+        return new Object[] { owner, table.name };
+    }
+
+    private record TableRef(String catalog, String schema, String name) {
+    }
+}
@@ -1,35 +1,66 @@
 package listeners;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+/**
+ * Writes the run summary into the TestSummary workbook history.
+ *
+ * Each suite run becomes one new sheet, written once with POI's streaming
+ * SXSSF API (rows are flushed to disk in windows of 100) and fixed column
+ * widths instead of autoSizeColumn. The history rolls over to a new workbook
+ * per period ({@code excel.summary.rollover} = monthly (default), daily or
+ * none) and whenever the current one reaches {@code excel.summary.maxMb}
+ * (default 5), so the workbook that has to be loaded to add a sheet stays
+ * small however long the history gets.
+ */
 public class TestExecutionExcelReport {
 
-    public static void writeResultsToExcel(String fileName, List<String[]> results, String baseSheetName) {
-        Workbook workbook;
-        Sheet sheet;
-        File file = new File(fileName);
+    private static final String ROLLOVER = System.getProperty("excel.summary.rollover", "monthly").toLowerCase();
+    private static final long MAX_BYTES = Long.parseLong(System.getProperty("excel.summary.maxMb", "5")) * 1024 * 1024;
+    private static final int ROW_WINDOW = 100;
+    private static final String[] HEADERS = { "S.No", "Test Script Name", "Test Description", "Status" };
+    private static final int[] COLUMN_WIDTHS = { 8, 45, 60, 10 }; // characters
+
+    /**
+     * Write the results as a new sheet of the current workbook.
+     *
+     * @return path of the workbook written, which carries the rollover suffix
+     */
+    public static String writeResultsToExcel(String fileName, List<String[]> results, String baseSheetName) {
+        File file = resolveTarget(fileName);
+        File temp = new File(file.getPath() + ".tmp");
+        SXSSFWorkbook workbook = null;
 
         try {
+            XSSFWorkbook history;
             if (file.exists()) {
-                FileInputStream fis = new FileInputStream(file);
-                workbook = new XSSFWorkbook(fis);
-                fis.close();
-
-                // Get or create the sheet
-                sheet = workbook.getSheet(baseSheetName);
-                if (sheet == null) {
-                    sheet = workbook.createSheet(baseSheetName);
-                    createHeaderRow(sheet, workbook);
+                try (FileInputStream fis = new FileInputStream(file)) {
+                    history = new XSSFWorkbook(fis);
                 }
             } else {
-                workbook = new XSSFWorkbook();
-                sheet = workbook.createSheet(baseSheetName);
-                createHeaderRow(sheet, workbook);
+                history = new XSSFWorkbook();
             }
+            workbook = new SXSSFWorkbook(history, ROW_WINDOW);
+
+            // Streamed rows replace a sheet's existing content, so every run gets a sheet of its own
+            String sheetName = baseSheetName;
+            for (int i = 2; history.getSheet(sheetName) != null; i++) {
+                sheetName = baseSheetName + "_" + i;
+            }
+            Sheet sheet = workbook.createSheet(sheetName);
+            for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
+            createHeaderRow(sheet, workbook);
 
             // Define styles
             CellStyle passStyle = createStatusCellStyle(workbook, IndexedColors.GREEN);
@@ -37,15 +68,8 @@ public class TestExecutionExcelReport {
             CellStyle skipStyle = createStatusCellStyle(workbook, IndexedColors.YELLOW);
             CellStyle defaultStyle = createBorderStyle(workbook);
 
-            // Find the last row to append data
-            int rowNum = sheet.getLastRowNum();
-            if (rowNum == 0 && sheet.getRow(0) == null) {
-                // If header wasn't written somehow
-                createHeaderRow(sheet, workbook);
-                rowNum = 0;
-            }
-
-            for (int i = 0; i < results.size(); i++) {
+            int rowNum = 0;
+            for (String[] result : results) {
                 Row row = sheet.createRow(++rowNum);
 
                 // S.No
@@ -53,12 +77,12 @@ public class TestExecutionExcelReport {
                 sno.setCellValue(rowNum); // serial number
                 sno.setCellStyle(defaultStyle);
 
-                for (int j = 0; j < results.get(i).length; j++) {
+                for (int j = 0; j < result.length; j++) {
                     Cell cell = row.createCell(j + 1);
-                    cell.setCellValue(results.get(i)[j]);
+                    cell.setCellValue(result[j]);
 
                     if (j == 2) { // Status column
-                        String status = results.get(i)[j].toUpperCase();
+                        String status = result[j].toUpperCase();
                         switch (status) {
                             case "PASS" -> cell.setCellStyle(passStyle);
                             case "FAIL" -> cell.setCellStyle(failStyle);
@@ -71,31 +95,53 @@ public class TestExecutionExcelReport {
                 }
             }
 
-            // Auto-size columns
-            for (int i = 0; i < 4; i++) {
-                sheet.autoSizeColumn(i);
+            // Save to a temp file first so a failed write never corrupts the history
+            try (FileOutputStream fos = new FileOutputStream(temp)) {
+                workbook.write(fos);
             }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
 
-            // Save workbook
-            FileOutputStream fos = new FileOutputStream(file);
-            workbook.write(fos);
-            fos.close();
-            workbook.close();
-
-            System.out.println("✅ Excel updated: " + baseSheetName);
+            System.out.println("✅ Excel updated: " + file.getName() + " [" + sheetName + "]");
 
         } catch (IOException e) {
             e.printStackTrace();
+            temp.delete();
+        } finally {
+            if (workbook != null) {
+                workbook.dispose();
+                try {
+                    workbook.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return file.getPath();
+    }
+
+    /**
+     * Workbook for the current period, moving on to the next part once a part reaches the size limit.
+     */
+    static File resolveTarget(String fileName) {
+        String base = fileName.endsWith(".xlsx") ? fileName.substring(0, fileName.length() - 5) : fileName;
+        String period = switch (ROLLOVER) {
+            case "daily" -> "_" + LocalDate.now();
+            case "monthly" -> "_" + YearMonth.now();
+            default -> "";
+        };
+        File file = new File(base + period + ".xlsx");
+        for (int part = 2; file.exists() && file.length() >= MAX_BYTES; part++) {
+            file = new File(base + period + "_" + part + ".xlsx");
         }
+        return file;
     }
 
     private static void createHeaderRow(Sheet sheet, Workbook workbook) {
-        String[] headers = { "S.No", "Test Script Name", "Test Description", "Status" };
         Row headerRow = sheet.createRow(0);
         CellStyle headerStyle = createHeaderStyle(workbook);
-        for (int i = 0; i < headers.length; i++) {
+        for (int i = 0; i < HEADERS.length; i++) {
             Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
+            cell.setCellValue(HEADERS[i]);
             cell.setCellStyle(headerStyle);
         }
     }
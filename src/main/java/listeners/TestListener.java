@@ -3,77 +3,133 @@ package listeners;
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
 
-public class TestListener implements ITestListener
+public class TestListener implements ITestListener, ISuiteListener
 {
 
 	public static String curr_Dir = System.getProperty("user.dir");
 	private static final SimpleDateFormat df = new SimpleDateFormat("yyMMdd_HHmmss");
-	private static final Map<String, ITestResult> finalResults = new LinkedHashMap<>();
+	private static final Comparator<ITestResult> RESULT_ORDER = Comparator
+			.comparing((ITestResult result) -> result.getTestClass().getName())
+			.thenComparing(result -> result.getMethod().getMethodName())
+			.thenComparingLong(ITestResult::getStartMillis);
+	// Results per suite, with one concurrent queue per <test> context, collected when the suite finishes
+	private static final Map<ISuite, SuiteResults> resultsBySuite = new ConcurrentHashMap<>();
 	public static final List<String[]> testResults = new ArrayList<>();
-	private static String finalSheetName = null;
-	private static String outputPath = null;
+
+	private static final class SuiteResults
+	{
+		private final String sheetName;
+		private final String outputPath;
+		private final Map<String, Queue<ITestResult>> byContext = new ConcurrentHashMap<>();
+
+		private SuiteResults(String sheetName, String outputPath)
+		{
+			this.sheetName = sheetName;
+			this.outputPath = outputPath;
+		}
+	}
+
+	@Override
+	public void onStart(ISuite suite)
+	{
+		suiteResults(suite);
+	}
 
 	@Override
 	public void onStart(ITestContext context)
 	{
-		if (finalSheetName == null)
-		{
-			String suiteName = context.getSuite().getName();
-			String safeSuiteName = suiteName.replaceAll("[\\\\/*?\\[\\]:]", "_");
+		suiteResults(context.getSuite()).byContext.computeIfAbsent(context.getName(), name -> new ConcurrentLinkedQueue<>());
+	}
 
-			String sheetBaseName = getShortSheetName(suiteName);
-			String timestamp = df.format(new Date());
-			finalSheetName = sheetBaseName + "_" + timestamp;
+	private SuiteResults suiteResults(ISuite suite)
+	{
+		return resultsBySuite.computeIfAbsent(suite, this::newSuiteResults);
+	}
 
-			String directoryPath = "C:\\AutomationResults";
-			File directory = new File(directoryPath);
-			if (!directory.exists())
-			{
-				directory.mkdirs();
-			}
-			outputPath =System.getProperty("user.dir") +"\\TestSummary.xlsx";
-			System.setProperty("ResulExcelPath", outputPath);
+	private SuiteResults newSuiteResults(ISuite suite)
+	{
+		String suiteName = suite.getName();
+		String sheetBaseName = getShortSheetName(suiteName);
+		String timestamp;
+		synchronized (df)
+		{
+			timestamp = df.format(new Date());
+		}
+
+		String directoryPath = "C:\\AutomationResults";
+		File directory = new File(directoryPath);
+		if (!directory.exists())
+		{
+			directory.mkdirs();
 		}
-		testResults.clear();
-		finalResults.clear();
+		String outputPath =System.getProperty("user.dir") +"\\TestSummary.xlsx";
+		System.setProperty("ResulExcelPath", outputPath);
+		return new SuiteResults(sheetBaseName + "_" + timestamp, outputPath);
 	}
 
 	@Override
 	public void onTestSuccess(ITestResult result)
 	{
-		finalResults.put(getKey(result), result);
+		record(result);
 	}
 
 	@Override
 	public void onTestFailure(ITestResult result)
 	{
-		finalResults.put(getKey(result), result);
+		record(result);
 	}
 
 	@Override
 	public void onTestSkipped(ITestResult result)
 	{
-		finalResults.putIfAbsent(getKey(result), result);
+		record(result);
 	}
 
-	private String getKey(ITestResult result)
+	/**
+	 * One row per final callback, so every data-provider row and invocation is kept.
+	 * Attempts that were retried are dropped, as in ResultAggregator.
+	 */
+	private void record(ITestResult result)
 	{
-		return result.getTestClass().getName() + "#" + result.getMethod().getMethodName();
+		if (result.wasRetried())
+		{
+			return;
+		}
+		ITestContext context = result.getTestContext();
+		suiteResults(context.getSuite()).byContext.computeIfAbsent(context.getName(), name -> new ConcurrentLinkedQueue<>())
+				.add(result);
 	}
 
 	@Override
-	public void onFinish(ITestContext context)
+	public void onFinish(ISuite suite)
 	{
-		for (ITestResult result : finalResults.values())
+		// Results are collected across all <test> tags of the suite; the workbook is written once, at suite end
+		SuiteResults state = resultsBySuite.remove(suite);
+		if (state == null)
+		{
+			return;
+		}
+
+		List<String[]> rows = new ArrayList<>();
+		for (ITestResult result : collectContexts(suite, state))
 		{
 			String status = switch (result.getStatus())
 			{
@@ -82,11 +138,45 @@ public class TestListener implements ITestListener
 			case ITestResult.SKIP -> "SKIP";
 			default -> "UNKNOWN";
 			};
-			testResults.add(buildRow(result, status));
+			rows.add(buildRow(result, status));
 		}
 
-		// ✅ Write to a single consistent sheet
-		TestExecutionExcelReport.writeResultsToExcel(outputPath, testResults, finalSheetName);
+		// ✅ Write to a single consistent sheet; suites finishing together take turns on the workbook
+		synchronized (TestListener.class)
+		{
+			testResults.clear();
+			testResults.addAll(rows);
+			String written = TestExecutionExcelReport.writeResultsToExcel(state.outputPath, testResults, state.sheetName);
+			System.setProperty("ResulExcelPath", written);
+		}
+	}
+
+	/**
+	 * Results of all contexts in a stable order: contexts as declared in the suite,
+	 * then tests by class, method name and start time, so parallel runs produce the same sheet.
+	 */
+	private List<ITestResult> collectContexts(ISuite suite, SuiteResults state)
+	{
+		List<ITestResult> collected = new ArrayList<>();
+		Set<String> contextNames = new LinkedHashSet<>();
+		for (XmlTest test : suite.getXmlSuite().getTests())
+		{
+			contextNames.add(test.getName());
+		}
+		// Contexts not declared in the suite XML (if any) follow in name order
+		contextNames.addAll(new TreeSet<>(state.byContext.keySet()));
+
+		for (String name : contextNames)
+		{
+			Queue<ITestResult> results = state.byContext.get(name);
+			if (results != null)
+			{
+				List<ITestResult> sorted = new ArrayList<>(results);
+				sorted.sort(RESULT_ORDER);
+				collected.addAll(sorted);
+			}
+		}
+		return collected;
 	}
 
 	private String getShortSheetName(String suiteName)
@@ -6,34 +6,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Properties;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import reporting.ResultAggregator.Status;
+import reporting.ResultAggregator.Summary;
+
 /**
  * Custom TestNG Listener for generating an HTML report. Tracks test execution results and duration.
  */
 public class CutsomHTMLReport implements ITestListener, ISuiteListener
 {
 
-	// Atomic counters for thread-safe operation
-	private static final AtomicInteger passCount = new AtomicInteger(0);
-	private static final AtomicInteger failCount = new AtomicInteger(0);
-	private static final AtomicInteger noRunCount = new AtomicInteger(0);
-
-	// Lists to hold method names by result
-	private final List<String> passMethods = new LinkedList<>();
-	private final List<String> failMethods = new LinkedList<>();
-	private final List<String> noRunMethods = new LinkedList<>();
+	private final ResultAggregator results = new ResultAggregator();
 
 	private long startTime;
 	private String dateTime;
@@ -55,8 +44,7 @@ public class CutsomHTMLReport implements ITestListener, ISuiteListener
 	@Override
 	public void onTestSuccess(ITestResult result)
 	{
-		passMethods.add(System.getProperty("method_name"));
-		passCount.incrementAndGet();
+		results.record(result, Status.PASS);
 	}
 
 	/**
@@ -65,8 +53,7 @@ public class CutsomHTMLReport implements ITestListener, ISuiteListener
 	@Override
 	public void onTestFailure(ITestResult result)
 	{
-		failMethods.add(System.getProperty("method_name"));
-		failCount.incrementAndGet();
+		results.record(result, Status.FAIL);
 	}
 
 	/**
@@ -75,8 +62,7 @@ public class CutsomHTMLReport implements ITestListener, ISuiteListener
 	@Override
 	public void onTestSkipped(ITestResult result)
 	{
-		noRunMethods.add(System.getProperty("method_name"));
-		noRunCount.incrementAndGet();
+		results.record(result, Status.SKIP);
 	}
 
 	/**
@@ -88,33 +74,18 @@ public class CutsomHTMLReport implements ITestListener, ISuiteListener
 		long endTime = System.currentTimeMillis();
 		String durationStr = formatDuration(endTime - startTime);
 
-		// Clean up the skipped list by removing methods that eventually passed or failed
-		filterCount(passMethods, failMethods, noRunMethods);
-		noRunCount.set(noRunMethods.size()); // Update the count after filtering
+		// One pass over the final outcomes; skipped attempts that were retried are already replaced
+		Summary summary = results.summarize();
+		if (summary.retried() > 0)
+		{
+			TestLogManager.info("Retried attempts (not counted in totals): " + summary.retried());
+		}
 
 		// Load properties before generating report
 		loadPropertiesFromJar();
 
 		// Generate summary report
-		SummaryReportGenerator.generateReport(passCount.get(), failCount.get(), noRunCount.get(), durationStr,dateTime);
-	}
-
-	public void filterCount(List<String> passMethod, List<String> failMethod, List<String> noRunMethod)
-	{
-		// Use a Set for faster lookup and cleaner logic
-		Set<String> passSet = new HashSet<>(passMethod);
-		Set<String> failSet = new HashSet<>(failMethod);
-
-		// Use iterator to safely remove while iterating
-		Iterator<String> iterator = noRunMethod.iterator();
-		while (iterator.hasNext())
-		{
-			String method = iterator.next();
-			if (passSet.contains(method) || failSet.contains(method))
-			{
-				iterator.remove(); // safe removal
-			}
-		}
+		SummaryReportGenerator.generateReport(summary.passed(), summary.failed(), summary.skipped(), durationStr,dateTime);
 	}
 
 	/**
@@ -1,26 +1,34 @@
 package reporting;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
 import reporting.NewSummaryReportGenerator.ModuleStats;
+import seleniumUtils.ScreenshotPolicy;
+import seleniumUtils.ScreenshotStore;
 
 public class DetailedTestReporter
 {
@@ -40,7 +48,9 @@ public class DetailedTestReporter
 			PASS, FAIL, SKIPPED
 	}
 
+	// Executions in start order for rendering, indexed by testCaseId so recording never scans the list
 	static List<TestExecution> testExecutions;
+	private static Map<String, TestExecution> executionsById;
 	private static String reportPath;
 	private static String projectName;
 	private static SimpleDateFormat dateFormat;
@@ -49,21 +59,14 @@ public class DetailedTestReporter
 	public DetailedTestReporter(String projectName, String reportPath) {
 		this.projectName = projectName;
 		this.reportPath = reportPath;
-		this.testExecutions = new ArrayList<>();
+		this.testExecutions = new CopyOnWriteArrayList<>();
+		this.executionsById = new ConcurrentHashMap<>();
 		this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 		this.performanceMetrics = new PerformanceMetrics();
 	}
 
 	public void addTestExecution(String module, String scenarioId, String testCaseId, String shortDescription, ExecutionStatus status)
 	{
-		boolean exists = testExecutions.stream().anyMatch(e -> e.getTestCaseId().equals(testCaseId));
-
-		if (exists)
-		{
-			System.out.println("Duplicate Test Case ID: " + testCaseId + " — Skipping entry.");
-			return;
-		}
-
 		TestExecution execution = new TestExecution();
 		execution.setModule(module);
 		execution.setScenarioId(scenarioId);
@@ -72,8 +75,28 @@ public class DetailedTestReporter
 		execution.setStartTime(new Date()); // auto-start time
 		execution.setStatus(status);
 		execution.setSteps(new ArrayList<>());
+
+		// The first registration of a test case ID wins
+		if (executionsById.putIfAbsent(testCaseId, execution) != null)
+		{
+			return;
+		}
 		testExecutions.add(execution);
 	}
+
+	/**
+	 * Look up the execution of a test case, registering the one built by the
+	 * factory if it is the first time the ID is seen. Parallel threads recording
+	 * the same ID always get the same instance.
+	 */
+	private static TestExecution executionFor(String testCaseId, Function<String, TestExecution> factory)
+	{
+		return executionsById.computeIfAbsent(testCaseId, id -> {
+			TestExecution execution = factory.apply(id);
+			testExecutions.add(execution);
+			return execution;
+		});
+	}
 	
 	public static void createDetailReport()
 	{
@@ -97,90 +120,90 @@ public class DetailedTestReporter
 	}
 
 	public static void addStep(TestCase testCase, StepStatus status, WebDriver driver) {
-	    boolean isDuplicate = false;
-	    Optional<TestExecution> executionOpt = getReport().getTestExecutions().stream()
-	            .filter(e -> e.getTestCaseId().equals(testCase.getTestCaseId()))
-	            .findFirst();
-
-	    TestExecution execution;
-	    if (!executionOpt.isPresent()) {
-	        execution = new TestExecution();
-	        execution.setModule(testCase.getModuleName());
-	        execution.setScenarioId(testCase.getExecutionId());
-	        execution.setTestCaseId(testCase.getTestCaseId());
-	        execution.setShortDescription(testCase.getDescription());
-	        execution.setStartTime(new Date());
-	        execution.setSteps(new ArrayList<>());
-	        execution.setStatus(ExecutionStatus.PASS);
+	    TestExecution execution = executionFor(testCase.getTestCaseId(), id -> {
+	        TestExecution created = new TestExecution();
+	        created.setModule(testCase.getModuleName());
+	        created.setScenarioId(testCase.getExecutionId());
+	        created.setTestCaseId(id);
+	        created.setShortDescription(testCase.getDescription());
+	        created.setStartTime(new Date());
+	        created.setSteps(new ArrayList<>());
+	        created.setStatus(ExecutionStatus.PASS);
 	        // Remove hardcoded total expected steps - calculate dynamically
-	        execution.setTotalExpectedSteps(0); 
-	        getReport().getTestExecutions().add(execution);
-	    } else {
-	        execution = executionOpt.get();
-	        if (execution.getSteps() == null) {
-	            execution.setSteps(new ArrayList<>());
-	        }
-	    }
+	        created.setTotalExpectedSteps(0);
+	        return created;
+	    });
 
-	    // Increment total expected steps only for new steps
-	    if (!isDuplicate) {
+	    // Steps of one execution are recorded one at a time; different test cases never contend
+	    synchronized (execution) {
 	        execution.setTotalExpectedSteps(execution.getTotalExpectedSteps() + 1);
-	    }
 
-	    isDuplicate = execution.getSteps().stream()
-	            .anyMatch(step -> step.getAction().equals(testCase.getAction()) 
-	                    && step.getExpectedResult().equals(testCase.getExpectedResult()));
-
-	    if (!isDuplicate) {
-	        getReport().addTestStep(
-	            testCase.getTestCaseId(),
-	            execution.getSteps().size() + 1,
-	            testCase.getAction(),
-	            testCase.getExpectedResult(),
-	            testCase.getActualResult(),
-	            status,
-	            encryptScreenshot(driver)
-	        );
-
-	        if (status == StepStatus.FAIL) {
-	            execution.setStatus(ExecutionStatus.FAIL);
+	        boolean isDuplicate = !execution.markStep(testCase.getAction(), testCase.getExpectedResult());
+
+	        if (!isDuplicate) {
+	            int stepIndex = execution.getSteps().size();
+	            // The deferred path arrives at test end, so it takes the execution lock like every other step update
+	            String screenshot = ScreenshotPolicy.capture(driver, "Step", status == StepStatus.FAIL, path -> {
+	                synchronized (execution) {
+	                    execution.getSteps().get(stepIndex).setScreenshotPath(reportRelativePath(path));
+	                }
+	            });
+	            getReport().addTestStep(
+	                testCase.getTestCaseId(),
+	                stepIndex + 1,
+	                testCase.getAction(),
+	                testCase.getExpectedResult(),
+	                testCase.getActualResult(),
+	                status,
+	                screenshot == null ? null : reportRelativePath(screenshot)
+	            );
+
+	            if (status == StepStatus.FAIL) {
+	                execution.setStatus(ExecutionStatus.FAIL);
+	            }
 	        }
-	    }
 	    
-	    // Mark execution as complete if this is the last step being added
-	    if (!isDuplicate && execution.getSteps().size() >= execution.getTotalExpectedSteps()) {
-	        execution.setEndTime(new Date());
-
-	        // Update ModuleStats map
-	        ModuleStats stats = NewSummaryReportGenerator.moduleStats.computeIfAbsent(
-	            testCase.getModuleName(), m -> new ModuleStats());
-
-	        switch (execution.getStatus()) {
-	            case PASS:
-	                stats.incrementPass();
-	                modulePassCount.computeIfAbsent(testCase.getModuleName(), 
-	                    k -> new AtomicInteger(0)).incrementAndGet();
-	                break;
-	            case FAIL:
-	                stats.incrementFail();
-	                moduleFailCount.computeIfAbsent(testCase.getModuleName(), 
-	                    k -> new AtomicInteger(0)).incrementAndGet();
-	                break;
-	            case SKIPPED:
-	                stats.incrementSkip();
-	                moduleSkipCount.computeIfAbsent(testCase.getModuleName(), 
-	                    k -> new AtomicInteger(0)).incrementAndGet();
-	                break;
+	        // Mark execution as complete if this is the last step being added
+	        if (!isDuplicate && execution.getSteps().size() >= execution.getTotalExpectedSteps()) {
+	            execution.setEndTime(new Date());
+
+	            // Update ModuleStats map
+	            ModuleStats stats = NewSummaryReportGenerator.moduleStats.computeIfAbsent(
+	                testCase.getModuleName(), m -> new ModuleStats());
+
+	            switch (execution.getStatus()) {
+	                case PASS:
+	                    stats.incrementPass();
+	                    modulePassCount.computeIfAbsent(testCase.getModuleName(), 
+	                        k -> new AtomicInteger(0)).incrementAndGet();
+	                    break;
+	                case FAIL:
+	                    stats.incrementFail();
+	                    moduleFailCount.computeIfAbsent(testCase.getModuleName(), 
+	                        k -> new AtomicInteger(0)).incrementAndGet();
+	                    break;
+	                case SKIPPED:
+	                    stats.incrementSkip();
+	                    moduleSkipCount.computeIfAbsent(testCase.getModuleName(), 
+	                        k -> new AtomicInteger(0)).incrementAndGet();
+	                    break;
+	            }
 	        }
 	    }
 	}
 	
-	 public static String encryptScreenshot(WebDriver driver)
+	private static String reportRelativePath(String storedPath)
+	{
+		Path stored = Paths.get(storedPath);
+		try
 		{
-			TakesScreenshot ts = (TakesScreenshot) driver;
-			String screenshotAs = ts.getScreenshotAs(OutputType.BASE64);
-			return "data:image/png;base64," + screenshotAs;
+			return Paths.get(reportPath).toAbsolutePath().relativize(stored).toString().replace(File.separatorChar, '/');
+		} catch (IllegalArgumentException e)
+		{
+			// Different drive/root than the report folder, fall back to an absolute URI
+			return stored.toUri().toString();
 		}
+	}
 
 	public List<TestExecution> getTestExecutions()
 	{
@@ -194,20 +217,22 @@ public class DetailedTestReporter
 
 	public void addTestStep(String testCaseId, int stepNumber, String action, String expectedResult, String actualResult, StepStatus status, String screenshotPath)
 	{
-		for (TestExecution execution : testExecutions)
+		TestExecution execution = executionsById.get(testCaseId);
+		if (execution == null)
 		{
-			if (execution.getTestCaseId().equals(testCaseId))
-			{
-				TestStep step = new TestStep();
-				step.setStepNo(stepNumber > 0 ? stepNumber : execution.getSteps().size() + 1);
-				step.setAction(action);
-				step.setExpectedResult(expectedResult);
-				step.setActualResult(actualResult);
-				step.setStatus(status);
-				step.setScreenshotPath(screenshotPath);
-				execution.getSteps().add(step);
-				break;
-			}
+			return;
+		}
+		synchronized (execution)
+		{
+			TestStep step = new TestStep();
+			step.setStepNo(stepNumber > 0 ? stepNumber : execution.getSteps().size() + 1);
+			step.setAction(action);
+			step.setExpectedResult(expectedResult);
+			step.setActualResult(actualResult);
+			step.setStatus(status);
+			step.setScreenshotPath(screenshotPath);
+			execution.markStep(action, expectedResult);
+			execution.getSteps().add(step);
 		}
 	}
 
@@ -221,16 +246,14 @@ public class DetailedTestReporter
 				reportDir.mkdirs();
 			}
 
-			String htmlContent = generateHTMLContent();
+			ScreenshotStore.awaitPendingWrites();
 			File reportFile = new File(reportPath + "/Report.html");
 
-			try (FileWriter writer = new FileWriter(reportFile))
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8), 64 * 1024))
 			{
-				writer.write(htmlContent);
+				writeHTMLContent(writer);
 			}
 
-			System.out.println("Detailed test report generated successfully at: " + reportFile.getAbsolutePath());
-
 		} catch (IOException e)
 		{
 			System.err.println("Error generating detailed test report: " + e.getMessage());
@@ -699,8 +722,12 @@ public class DetailedTestReporter
 		return html.toString();
 	}
 	
-	static String generateHTMLContent() {
-	    StringBuilder html = new StringBuilder();
+	/**
+	 * Stream the report to the writer one execution at a time, so only the
+	 * current row is ever held as text. Screenshots are referenced by path and
+	 * lazy-loaded by the browser.
+	 */
+	static void writeHTMLContent(Writer html) throws IOException {
 
 	    int totalTests = testExecutions.size();
 	    int passedTests = (int) testExecutions.stream().filter(t -> t.getStatus() == ExecutionStatus.PASS).count();
@@ -806,10 +833,10 @@ public class DetailedTestReporter
 
 	        // Summary cards
 	        .append("<div class=\"summary\">\n")
-	        .append("<div class=\"summary-cards total\" onclick=\"filterTests('all')\"><h3>").append(totalTests).append("</h3><p>Total</p></div>\n")
-	        .append("<div class=\"summary-cards passed\" onclick=\"filterTests('PASS')\"><h3>").append(passedTests).append("</h3><p>Passed</p></div>\n")
-	        .append("<div class=\"summary-cards failed\" onclick=\"filterTests('FAIL')\"><h3>").append(failedTests).append("</h3><p>Failed</p></div>\n")
-	        .append("<div class=\"summary-cards skipped\" onclick=\"filterTests('SKIPPED')\"><h3>").append(skippedTests).append("</h3><p>Skipped</p></div>\n")
+	        .append("<div class=\"summary-cards total\" onclick=\"filterTests('all')\"><h3>").append(String.valueOf(totalTests)).append("</h3><p>Total</p></div>\n")
+	        .append("<div class=\"summary-cards passed\" onclick=\"filterTests('PASS')\"><h3>").append(String.valueOf(passedTests)).append("</h3><p>Passed</p></div>\n")
+	        .append("<div class=\"summary-cards failed\" onclick=\"filterTests('FAIL')\"><h3>").append(String.valueOf(failedTests)).append("</h3><p>Failed</p></div>\n")
+	        .append("<div class=\"summary-cards skipped\" onclick=\"filterTests('SKIPPED')\"><h3>").append(String.valueOf(skippedTests)).append("</h3><p>Skipped</p></div>\n")
 	        .append("</div>\n")
 
 	        // Filter controls
@@ -860,7 +887,7 @@ public class DetailedTestReporter
 	                               exec.getStatus() == ExecutionStatus.FAIL ? "row-fail" : "";
 
 	        html.append("<tr class=\"test-row ").append(rowColorClass)
-	            .append("\" data-status=\"").append(exec.getStatus())
+	            .append("\" data-status=\"").append(String.valueOf(exec.getStatus()))
 	            .append("\" data-module=\"").append(exec.getModule())
 	            .append("\" onclick=\"toggleAccordion(event, this)\">")
 	            .append("<td>").append(exec.getModule()).append("</td>")
@@ -869,8 +896,8 @@ public class DetailedTestReporter
 	            .append("<td class='description-cell' title='").append(exec.getShortDescription()).append("'>").append(exec.getShortDescription()).append("</td>")
 	            .append("<td>").append(dateFormat.format(exec.getStartTime())).append("</td>")
 	            .append("<td>").append(dateFormat.format(exec.getEndTime())).append("</td>")
-	            .append("<td>").append(duration).append("</td>")
-	            .append("<td class=\"").append(statusClass).append("\">").append(exec.getStatus()).append("</td>")
+	            .append("<td>").append(String.valueOf(duration)).append("</td>")
+	            .append("<td class=\"").append(statusClass).append("\">").append(String.valueOf(exec.getStatus())).append("</td>")
 	            .append("</tr>\n");
 
 	        html.append("<tr class=\"accordion-content\"><td colspan=\"8\"><table class=\"test-table\">")
@@ -881,13 +908,13 @@ public class DetailedTestReporter
 	            String stepRowColorClass = step.getStatus() == StepStatus.PASS ? "row-pass" :
 	                                       step.getStatus() == StepStatus.FAIL ? "row-fail" : "";
 
-	            html.append("<tr class=\"").append(stepRowColorClass).append("\"><td>").append(step.getStepNo()).append("</td>")
+	            html.append("<tr class=\"").append(stepRowColorClass).append("\"><td>").append(String.valueOf(step.getStepNo())).append("</td>")
 	                .append("<td>").append(step.getAction()).append("</td>")
 	                .append("<td>").append(step.getExpectedResult()).append("</td>")
 	                .append("<td>").append(step.getActualResult()).append("</td>")
-	                .append("<td class=\"").append(stepStatusClass).append("\">").append(step.getStatus()).append("</td>")
+	                .append("<td class=\"").append(stepStatusClass).append("\">").append(String.valueOf(step.getStatus())).append("</td>")
 	                .append("<td>").append((step.getScreenshotPath() != null && !step.getScreenshotPath().isEmpty())
-	                        ? "<img src='" + step.getScreenshotPath() + "' class='screenshot-thumb' onclick='openModal(this.src)'>"
+	                        ? "<img src='" + step.getScreenshotPath() + "' loading='lazy' class='screenshot-thumb' onclick='openModal(this.src)'>"
 	                        : "-").append("</td></tr>");
 	        }
 	        html.append("</tbody></table></td></tr>\n");
@@ -1052,7 +1079,7 @@ public class DetailedTestReporter
 	        .append("};\n")
 	        .append("</script>\n</body></html>");
 
-	    return html.toString();
+	    html.flush();
 	}
 
 
@@ -1133,6 +1160,8 @@ public class DetailedTestReporter
 		private Date endTime;
 		private ExecutionStatus status;
 		private List<TestStep> steps = new ArrayList<>();
+		// action + expected result of every recorded step, for constant-time duplicate checks
+		private final Set<String> stepKeys = new HashSet<>();
 
 		// New fields to track step counts
 		private int totalExpectedSteps; // Total steps expected (from test case)
@@ -1217,6 +1246,26 @@ public class DetailedTestReporter
 		public void setSteps(List<TestStep> steps)
 		{
 			this.steps = steps;
+			stepKeys.clear();
+			for (TestStep step : steps)
+			{
+				stepKeys.add(stepKey(step.getAction(), step.getExpectedResult()));
+			}
+		}
+
+		/**
+		 * Remember a step by action and expected result.
+		 *
+		 * @return false if an identical step was already recorded
+		 */
+		public boolean markStep(String action, String expectedResult)
+		{
+			return stepKeys.add(stepKey(action, expectedResult));
+		}
+
+		private static String stepKey(String action, String expectedResult)
+		{
+			return action + '\u0000' + expectedResult;
 		}
 
 		// New getters and setters for step tracking
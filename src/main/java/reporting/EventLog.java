@@ -0,0 +1,218 @@
+package reporting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+/**
+ * Structured run telemetry: one JSON object per line with timestamp, thread,
+ * correlation ID, test method, step, event type, message and duration.
+ *
+ * Every test gets a correlation ID in {@link #beginTest(String)}; it is kept
+ * per thread, copied into the log4j ThreadContext (as {@code correlationId}
+ * and {@code testMethod}) and attached to the Extent test, so report entries,
+ * text logs and events of one test can be joined. Events are only written
+ * when {@code logging.structured.enabled=true} in config.properties or
+ * {@code -Dlogging.structured=true}; the file goes to
+ * {@code logging.events.dir} (default test-output).
+ *
+ * Lines are encoded into a per-thread StringBuilder and copied into a shared
+ * char buffer, so emitting an event allocates nothing on the calling thread.
+ * EventLog's own diagnostics go straight to log4j, never through
+ * TestLogManager, because that would re-enter {@link #write} on the same
+ * line buffer.
+ */
+public final class EventLog {
+
+    private static final Logger logger = LogManager.getLogger(EventLog.class);
+
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicLong testCounter = new AtomicLong();
+
+    private static final ThreadLocal<Context> context = new ThreadLocal<>();
+    private static final ThreadLocal<StringBuilder> lineBuffer = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private static final Object writeLock = new Object();
+    private static Writer writer;
+    private static char[] chars = new char[1024];
+    private static boolean openFailed;
+
+    private EventLog() {
+    }
+
+    /**
+     * Per-thread identity of the running test.
+     */
+    private static final class Context {
+        private final String correlationId;
+        private final String testMethod;
+        private final long startNanos = System.nanoTime();
+        private int step;
+
+        private Context(String correlationId, String testMethod) {
+            this.correlationId = correlationId;
+            this.testMethod = testMethod;
+        }
+    }
+
+    /**
+     * Assign a correlation ID to the test starting on this thread.
+     */
+    public static String beginTest(String testMethod) {
+        String correlationId = RUN_ID + "-" + testCounter.incrementAndGet();
+        context.set(new Context(correlationId, testMethod));
+        ThreadContext.put("correlationId", correlationId);
+        ThreadContext.put("testMethod", testMethod);
+        event("test_start", testMethod);
+        return correlationId;
+    }
+
+    /**
+     * Record the test result with its duration and clear this thread's context.
+     */
+    public static void endTest(String status) {
+        Context ctx = context.get();
+        if (ctx != null) {
+            write("test_end", status, (System.nanoTime() - ctx.startNanos) / 1_000_000);
+        }
+        context.remove();
+        ThreadContext.remove("correlationId");
+        ThreadContext.remove("testMethod");
+        flush();
+    }
+
+    /**
+     * Correlation ID of the test running on this thread, or null outside a test.
+     */
+    public static String correlationId() {
+        Context ctx = context.get();
+        return ctx == null ? null : ctx.correlationId;
+    }
+
+    /**
+     * Start the next numbered step of the current test.
+     */
+    public static void step(CharSequence name) {
+        Context ctx = context.get();
+        if (ctx != null) {
+            ctx.step++;
+        }
+        event("step", name);
+    }
+
+    public static void event(String type, CharSequence message) {
+        write(type, message, -1);
+    }
+
+    public static void timed(String type, CharSequence message, long durationMs) {
+        write(type, message, durationMs);
+    }
+
+    public static boolean isEnabled() {
+        return TestLogManager.structuredEnabled();
+    }
+
+    public static void flush() {
+        synchronized (writeLock) {
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    // best effort; the next flush retries
+                }
+            }
+        }
+    }
+
+    private static void write(String type, CharSequence message, long durationMs) {
+        if (!TestLogManager.structuredEnabled()) {
+            return;
+        }
+        Context ctx = context.get();
+        StringBuilder line = lineBuffer.get();
+        line.setLength(0);
+        line.append("{\"ts\":").append(System.currentTimeMillis());
+        appendField(line, "thread", Thread.currentThread().getName());
+        if (ctx != null) {
+            appendField(line, "correlationId", ctx.correlationId);
+            appendField(line, "test", ctx.testMethod);
+            line.append(",\"step\":").append(ctx.step);
+        }
+        appendField(line, "type", type);
+        if (message != null) {
+            appendField(line, "message", message);
+        }
+        if (durationMs >= 0) {
+            line.append(",\"durationMs\":").append(durationMs);
+        }
+        line.append("}\n");
+
+        synchronized (writeLock) {
+            if (writer == null && !open()) {
+                return;
+            }
+            int length = line.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            line.getChars(0, length, chars, 0);
+            try {
+                writer.write(chars, 0, length);
+            } catch (IOException e) {
+                logger.warn("Failed to write event log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void appendField(StringBuilder line, String name, CharSequence value) {
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append("\\u00");
+                        line.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    // Called under writeLock
+    private static boolean open() {
+        if (openFailed) {
+            return false;
+        }
+        Path path = Paths.get(System.getProperty("logging.events.dir", System.getProperty("user.dir") + "/test-output"), "events-" + RUN_ID + ".jsonl");
+        try {
+            Files.createDirectories(path.getParent());
+            writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), 64 * 1024);
+            Runtime.getRuntime().addShutdownHook(new Thread(EventLog::flush, "event-log-flush"));
+            logger.info("Structured event log: {}", path);
+            return true;
+        } catch (IOException e) {
+            openFailed = true;
+            logger.error("Failed to open event log {}", path, e);
+            return false;
+        }
+    }
+}
@@ -13,7 +13,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.aventstack.extentreports.AnalysisStrategy;
 import com.aventstack.extentreports.ExtentReports;
@@ -21,6 +21,7 @@ import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
 import com.aventstack.extentreports.reporter.ExtentKlovReporter;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
@@ -31,7 +32,11 @@ import constants.FrameworkConstants;
 public class ExtentManager
 {
 	private static ExtentReports extent;
-	private static Map<Long, ExtentTest> extentTestMap = new TreeMap<>();
+	private static final int BUFFER_SIZE = Integer.parseInt(System.getProperty("report.buffer.size", "128"));
+	// Each test thread owns its slot, so logging needs neither a map lookup nor a lock
+	private static final ThreadLocal<TestSlot> currentTest = new ThreadLocal<>();
+	// Slots whose test has not ended yet, drained at suite end if a teardown never got that far
+	private static final Set<TestSlot> openSlots = ConcurrentHashMap.newKeySet();
 	private static String reportPath;
 	private static String reportType;
 
@@ -58,6 +63,10 @@ public class ExtentManager
 				TestLogManager.error("No klov properties file", e);
 			}
 			extent.attachReporter(klovReports);
+		} else if ("stream".equalsIgnoreCase(reportType))
+		{
+			// No Extent reporter: finished tests are written out one by one in endTest
+			reportPath = StreamingReportWriter.start(currDir + "/src/test/resources/ExtentReports/Resul_Test_Suite" + timeStamp);
 		} else
 		{
 			reportPath = currDir + "/src/test/resources/ExtentReports/Resul_Test_Suite" + timeStamp + ".html";
@@ -115,25 +124,49 @@ public class ExtentManager
 		try
 		{
 			method = GridManager.isGrid.get().equals(true) ? method + " - " + browser : method;
-			test = extent.createTest(method, "<font color=#0000C0><b>SCENARIO ID : </font></b>" + "<i><u><b><font color=black>" + testName + "</i></u></b></font>");
+			String description = "<font color=#0000C0><b>SCENARIO ID : </font></b>" + "<i><u><b><font color=black>" + testName + "</i></u></b></font>";
+			String correlationId = EventLog.correlationId();
+			if (correlationId != null)
+			{
+				description += "<br><font color=gray>Correlation ID : " + correlationId + "</font>";
+			}
+			test = extent.createTest(method, description);
 		} catch (Exception e)
 		{
 			e.printStackTrace();
 		}
-		extentTestMap.put(Thread.currentThread().getId(), test);
+		TestSlot previous = currentTest.get();
+		if (previous != null)
+		{
+			previous.drain();
+			openSlots.remove(previous);
+		}
+		TestSlot slot = new TestSlot(test);
+		currentTest.set(slot);
+		if (test != null)
+		{
+			openSlots.add(slot);
+		}
 		return test;
 	}
 
 	// Get current test
 	public static ExtentTest getTest()
 	{
-		return extentTestMap.get(Thread.currentThread().getId());
+		TestSlot slot = currentTest.get();
+		if (slot == null)
+		{
+			return null;
+		}
+		// Callers log straight into the model, so buffered entries must land first
+		slot.drain();
+		return slot.test;
 	}
 
 	// Mark test info
 	public static void infoTest(String message)
 	{
-		getTest().log(Status.INFO, message);
+		buffer(Status.INFO, message);
 	}
 	
 	public static void infoLabel(String message)
@@ -144,7 +177,7 @@ public class ExtentManager
 	// Mark test pass
 	public static void passTest(String message)
 	{
-		getTest().log(Status.PASS, message);
+		buffer(Status.PASS, message);
 	}
 	
 	public static void passLabel(String message)
@@ -155,7 +188,7 @@ public class ExtentManager
 	// Mark test fail
 	public static void failTest(String message)
 	{
-		getTest().log(Status.FAIL, message);
+		buffer(Status.FAIL, message);
 	}
 	
 	public static void failLabel(String message)
@@ -165,13 +198,13 @@ public class ExtentManager
 	
 	public static void warningTest(String message)
 	{
-		getTest().log(Status.WARNING, message);
+		buffer(Status.WARNING, message);
 	}
 
 	// Mark test skip
 	public static void skipTest(String message)
 	{
-		getTest().log(Status.SKIP, message);
+		buffer(Status.SKIP, message);
 	}
 	
 	public static void skipLabel(String message)
@@ -179,10 +212,122 @@ public class ExtentManager
 		getTest().skip(MarkupHelper.createLabel(message, ExtentColor.YELLOW));
 	}
 
+	// Link the current test to its own log file (see TestLogRouter)
+	public static void linkTestLog(String logPath)
+	{
+		if (logPath == null || getTest() == null)
+		{
+			return;
+		}
+		getTest().info("<a href='" + reportLink(logPath) + "' target='_blank'>Test log</a>");
+	}
+
+	// Link to a file from the report: relative to the report's folder, or a file URI
+	public static String reportLink(String path)
+	{
+		File file = new File(path).getAbsoluteFile();
+		if (reportPath == null)
+		{
+			return file.toURI().toString();
+		}
+		try
+		{
+			return new File(reportPath).getAbsoluteFile().getParentFile().toPath().relativize(file.toPath()).toString().replace('\\', '/');
+		} catch (IllegalArgumentException e)
+		{
+			// Different drive/root than the report folder
+			return file.toURI().toString();
+		}
+	}
+
+	// Drain the thread's buffered entries; in stream mode also hand the test to the writer and release it
+	public static void endTest()
+	{
+		ExtentTest test = getTest();
+		if (test != null)
+		{
+			openSlots.remove(currentTest.get());
+		}
+		if (test != null && StreamingReportWriter.isActive())
+		{
+			StreamingReportWriter.append(test.getModel());
+			extent.removeTest(test);
+			currentTest.remove();
+		}
+	}
+
+	private static void buffer(Status status, String message)
+	{
+		TestSlot slot = currentTest.get();
+		if (slot == null)
+		{
+			// Same failure as the direct getTest().log call this replaces
+			throw new IllegalStateException("No Extent test started on thread " + Thread.currentThread().getName());
+		}
+		slot.add(status, message);
+	}
+
+	/**
+	 * Current test of one thread plus its pending log entries. Entries are
+	 * appended to plain arrays and written into the Extent model, whose
+	 * methods synchronise, only when the buffer fills, when getTest() is
+	 * called, at test end or at suite end. Each entry keeps the time it was
+	 * logged, which replaces the time of the drain in the report.
+	 */
+	private static final class TestSlot
+	{
+		private final ExtentTest test;
+		private final Status[] statuses = new Status[BUFFER_SIZE];
+		private final String[] messages = new String[BUFFER_SIZE];
+		private final long[] times = new long[BUFFER_SIZE];
+		private int size;
+
+		private TestSlot(ExtentTest test)
+		{
+			this.test = test;
+		}
+
+		private void add(Status status, String message)
+		{
+			statuses[size] = status;
+			messages[size] = message;
+			times[size] = System.currentTimeMillis();
+			if (++size == BUFFER_SIZE)
+			{
+				drain();
+			}
+		}
+
+		private void drain()
+		{
+			for (int i = 0; i < size; i++)
+			{
+				test.log(statuses[i], messages[i]);
+				List<Log> logs = test.getModel().getLogs();
+				logs.get(logs.size() - 1).setTimestamp(new Date(times[i]));
+				messages[i] = null;
+			}
+			size = 0;
+		}
+	}
+
 	// Flush reports
 	public static void flushReports()
 	{
-		if (extent != null)
+		// Runs after the test threads have finished, so their slots can be drained from here
+		for (TestSlot slot : openSlots)
+		{
+			slot.drain();
+			if (StreamingReportWriter.isActive())
+			{
+				StreamingReportWriter.append(slot.test.getModel());
+			}
+		}
+		openSlots.clear();
+		if (StreamingReportWriter.isActive())
+		{
+			StreamingReportWriter.stop();
+		} else if (extent != null)
 		{
 			extent.flush();
 		}
@@ -195,7 +340,7 @@ public class ExtentManager
 
 	public static void openExtentReport()
 	{
-		if (reportType.trim().equalsIgnoreCase("html"))
+		if (reportType.trim().equalsIgnoreCase("html") || reportType.trim().equalsIgnoreCase("stream"))
 		{
 			try
 			{
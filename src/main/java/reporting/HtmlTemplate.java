@@ -0,0 +1,109 @@
+package reporting;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled HTML template with {@code {{name}}} placeholders.
+ *
+ * The source is split once into literal chunks and placeholder names, so
+ * rendering is a single pass that writes each chunk and value straight to
+ * the output, instead of copying the whole document for every
+ * {@code String.replace} or re-parsing it with {@code String.format}.
+ * Anything between {@code {{ }}} that is not a plain name (letters, digits,
+ * {@code _ . -}) stays as text, so JavaScript and CSS need no escaping.
+ *
+ * Values are written as-is (no HTML escaping) and missing or null values
+ * render as nothing. A {@link Fragment} value writes itself, which lets
+ * large sections such as the detailed report stream into the same writer.
+ */
+public final class HtmlTemplate {
+
+    /**
+     * Section that renders directly into the template output.
+     */
+    @FunctionalInterface
+    public interface Fragment {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    // literals[i] precedes names[i]; the last literal follows the last placeholder
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private HtmlTemplate(List<String> literals, List<String> names) {
+        this.literals = literals.toArray(new String[0]);
+        this.names = names.toArray(new String[0]);
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static HtmlTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        int pos = 0;
+        int open;
+        while ((open = source.indexOf("{{", pos)) >= 0) {
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                break;
+            }
+            String name = source.substring(open + 2, close).trim();
+            if (!isName(name)) {
+                pos = open + 2;
+                continue;
+            }
+            literals.add(source.substring(from, open));
+            names.add(name);
+            from = pos = close + 2;
+        }
+        literals.add(source.substring(from));
+        return new HtmlTemplate(literals, names);
+    }
+
+    public void render(Map<String, ?> values, Writer out) throws IOException {
+        for (int i = 0; i < names.length; i++) {
+            out.write(literals[i]);
+            Object value = values.get(names[i]);
+            if (value instanceof Fragment fragment) {
+                fragment.writeTo(out);
+            } else if (value != null) {
+                out.write(value.toString());
+            }
+        }
+        out.write(literals[names.length]);
+    }
+
+    public String render(Map<String, ?> values) {
+        StringWriter out = new StringWriter(literalLength + 4096);
+        try {
+            render(values, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render template", e);
+        }
+        return out.toString();
+    }
+
+    private static boolean isName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
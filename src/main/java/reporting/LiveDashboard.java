@@ -0,0 +1,420 @@
+package reporting;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import reporting.NewSummaryReportGenerator.ModuleStats;
+
+/**
+ * Live view of a running suite at {@code http://localhost:<dashboard.port>/}
+ * (default 8090). The server listens on the loopback interface only unless
+ * {@code dashboard.host} names another address to bind, e.g. 0.0.0.0.
+ *
+ * Register as a TestNG listener; DynamicSuiteGenerator adds it when
+ * {@code isLiveDashboard=yes}. Test callbacks only bump LongAdder counters
+ * and drop the result into a lock-free ring buffer. A single publisher thread
+ * drains the ring every {@code dashboard.pushMs} (default 1000) and pushes
+ * pass/fail/skip events, the per-module counts from
+ * {@link NewSummaryReportGenerator#moduleStats}, throughput, ETA and the
+ * slowest tests to the browser over Server-Sent Events. If the publisher
+ * falls more than {@code dashboard.bufferSize} results behind, the oldest
+ * drop out of the feed; the counters stay exact. Counters and feed start
+ * from zero whenever the dashboard starts again in the same JVM.
+ *
+ * ETA is based on the suite's planned method count, so data-provider
+ * invocations beyond one per method are not foreseen.
+ */
+public class LiveDashboard implements ITestListener, ISuiteListener {
+
+    private static final int PORT = Integer.parseInt(System.getProperty("dashboard.port", "8090"));
+    private static final String HOST = System.getProperty("dashboard.host", "").trim();
+    private static final long PUSH_MS = Long.parseLong(System.getProperty("dashboard.pushMs", "1000"));
+    private static final int BUFFER_SIZE = Integer.highestOneBit(Math.max(2, Integer.parseInt(System.getProperty("dashboard.bufferSize", "1024"))));
+    private static final int SLOWEST = 10;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final LongAdder passed = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final LongAdder skipped = new LongAdder();
+    private static final AtomicInteger planned = new AtomicInteger();
+    private static final ResultRing ring = new ResultRing(BUFFER_SIZE);
+    private static final List<OutputStream> clients = new CopyOnWriteArrayList<>();
+
+    private static HttpServer server;
+    private static ScheduledExecutorService publisher;
+    private static int activeSuites;
+    private static volatile long startMillis;
+    private static volatile String lastSummary = "{}";
+
+    // Owned by the publisher thread
+    private static final PriorityQueue<Result> slowest = new PriorityQueue<>(Comparator.comparingLong(Result::durationMs));
+    private static long cursor;
+
+    private record Result(long seq, String name, String status, long durationMs) {
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        start(suite.getAllMethods().size());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        stop();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "PASS", passed);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAIL", failed);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, "SKIP", skipped);
+    }
+
+    // Hot path: one adder increment and one atomic slot claim, never blocks
+    private static void record(ITestResult result, String status, LongAdder counter) {
+        counter.increment();
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        ring.publish(name, status, result.getEndMillis() - result.getStartMillis());
+    }
+
+    private static synchronized void start(int methods) {
+        if (activeSuites++ > 0) {
+            planned.addAndGet(methods);
+            return;
+        }
+        // A previous run in this JVM may have left its totals behind
+        passed.reset();
+        failed.reset();
+        skipped.reset();
+        planned.set(methods);
+        ring.clear();
+        lastSummary = "{}";
+        startMillis = System.currentTimeMillis();
+        try {
+            InetSocketAddress address = HOST.isEmpty()
+                    ? new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT)
+                    : new InetSocketAddress(HOST, PORT);
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            TestLogManager.error("Failed to start live dashboard on port " + PORT, e);
+            return;
+        }
+        server.createContext("/", exchange -> respond(exchange, "text/html", PAGE));
+        server.createContext("/summary", exchange -> respond(exchange, "application/json", lastSummary));
+        server.createContext("/events", LiveDashboard::subscribe);
+        server.start();
+
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dashboard-publisher");
+            t.setDaemon(true);
+            return t;
+        });
+        // Publisher-owned state is reset on the publisher thread, before its first tick
+        publisher.execute(() -> {
+            slowest.clear();
+            cursor = 0;
+        });
+        publisher.scheduleWithFixedDelay(LiveDashboard::publish, PUSH_MS, PUSH_MS, TimeUnit.MILLISECONDS);
+        TestLogManager.info("Live dashboard: http://" + (HOST.isEmpty() ? "localhost" : HOST) + ":" + PORT + "/");
+    }
+
+    private static synchronized void stop() {
+        if (--activeSuites > 0 || server == null) {
+            return;
+        }
+        // The final push runs on the publisher too, which keeps sole ownership of its state;
+        // shutdown() cancels the periodic tick but still runs this one-off task
+        publisher.execute(() -> {
+            publish();
+            broadcast("event: done\ndata: {}\n\n");
+        });
+        publisher.shutdown();
+        try {
+            if (!publisher.awaitTermination(PUSH_MS * 2, TimeUnit.MILLISECONDS)) {
+                publisher.shutdownNow();
+                TestLogManager.warning("Live dashboard publisher did not finish in time; stopping without the final update");
+            }
+        } catch (InterruptedException e) {
+            publisher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        for (OutputStream client : clients) {
+            closeQuietly(client);
+        }
+        clients.clear();
+        server.stop(0);
+        server = null;
+        publisher = null;
+    }
+
+    private static void subscribe(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        out.write(("event: summary\ndata: " + lastSummary + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        // Left open; the publisher writes to it until the client goes away or the suite ends
+        clients.add(out);
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void publish() {
+        try {
+            List<Result> fresh = new ArrayList<>();
+            cursor = ring.drain(cursor, fresh::add);
+
+            StringBuilder message = new StringBuilder();
+            for (Result result : fresh) {
+                trackSlowest(result);
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("name", result.name());
+                event.put("status", result.status());
+                event.put("durationMs", result.durationMs());
+                message.append("event: test\ndata: ").append(mapper.writeValueAsString(event)).append("\n\n");
+            }
+            lastSummary = mapper.writeValueAsString(summary());
+            message.append("event: summary\ndata: ").append(lastSummary).append("\n\n");
+            broadcast(message.toString());
+        } catch (IOException | RuntimeException e) {
+            // Keep the schedule alive; the next tick retries
+            TestLogManager.warning("Live dashboard update failed: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> summary() {
+        long pass = passed.sum();
+        long fail = failed.sum();
+        long skip = skipped.sum();
+        long done = pass + fail + skip;
+        long elapsed = Math.max(1, System.currentTimeMillis() - startMillis);
+        double perMinute = done * 60_000.0 / elapsed;
+        long remaining = Math.max(0, planned.get() - done);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("passed", pass);
+        summary.put("failed", fail);
+        summary.put("skipped", skip);
+        summary.put("done", done);
+        summary.put("planned", planned.get());
+        summary.put("elapsedSec", elapsed / 1000);
+        summary.put("testsPerMinute", Math.round(perMinute * 10) / 10.0);
+        summary.put("etaSec", done == 0 ? null : Math.round(remaining * 60 / perMinute));
+
+        List<Map<String, Object>> modules = new ArrayList<>();
+        for (Map.Entry<String, ModuleStats> entry : new TreeMap<>(NewSummaryReportGenerator.moduleStats).entrySet()) {
+            Map<String, Object> module = new LinkedHashMap<>();
+            module.put("module", entry.getKey());
+            module.put("passed", entry.getValue().getPassed());
+            module.put("failed", entry.getValue().getFailed());
+            module.put("skipped", entry.getValue().getSkipped());
+            modules.add(module);
+        }
+        summary.put("modules", modules);
+
+        List<Result> slow = new ArrayList<>(slowest);
+        slow.sort(Comparator.comparingLong(Result::durationMs).reversed());
+        List<Map<String, Object>> slowTests = new ArrayList<>(slow.size());
+        for (Result result : slow) {
+            Map<String, Object> test = new LinkedHashMap<>();
+            test.put("name", result.name());
+            test.put("durationMs", result.durationMs());
+            slowTests.add(test);
+        }
+        summary.put("slowest", slowTests);
+        return summary;
+    }
+
+    private static void trackSlowest(Result result) {
+        if (slowest.size() < SLOWEST) {
+            slowest.add(result);
+        } else if (result.durationMs() > slowest.peek().durationMs()) {
+            slowest.poll();
+            slowest.add(result);
+        }
+    }
+
+    private static void broadcast(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        for (OutputStream client : clients) {
+            try {
+                client.write(bytes);
+                client.flush();
+            } catch (IOException e) {
+                // browser tab closed
+                clients.remove(client);
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // already gone
+        }
+    }
+
+    /**
+     * Multi-producer, single-consumer ring. Producers claim a slot with one
+     * atomic increment; the consumer recognises slots that are claimed but
+     * not yet written, or already overwritten, by the sequence in the entry.
+     */
+    private static final class ResultRing {
+        private final AtomicReferenceArray<Result> slots;
+        private final AtomicLong head = new AtomicLong();
+        private final int mask;
+
+        ResultRing(int size) {
+            slots = new AtomicReferenceArray<>(size);
+            mask = size - 1;
+        }
+
+        // Only while no producer or consumer is running, i.e. between runs
+        void clear() {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+            head.set(0);
+        }
+
+        void publish(String name, String status, long durationMs) {
+            long seq = head.getAndIncrement();
+            slots.set((int) (seq & mask), new Result(seq, name, status, durationMs));
+        }
+
+        /**
+         * Hand entries from cursor on to the sink, stopping at the first one not yet written.
+         *
+         * @return the cursor to continue from
+         */
+        long drain(long cursor, Consumer<Result> sink) {
+            long end = head.get();
+            if (end - cursor > slots.length()) {
+                cursor = end - slots.length();
+            }
+            while (cursor < end) {
+                Result result = slots.get((int) (cursor & mask));
+                if (result == null || result.seq() < cursor) {
+                    break;
+                }
+                if (result.seq() == cursor) {
+                    sink.accept(result);
+                }
+                cursor++;
+            }
+            return cursor;
+        }
+    }
+
+    private static final String PAGE = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+            <meta charset="UTF-8">
+            <title>Live Test Dashboard</title>
+            <style>
+            body { font-family: Segoe UI, Arial, sans-serif; margin: 20px; background: #f5f6fa; }
+            .cards span { display: inline-block; margin: 0 12px 12px 0; padding: 10px 16px; border-radius: 6px; color: #fff; font-size: 18px; }
+            .pass { background: #27ae60; } .fail { background: #e74c3c; } .skip { background: #f39c12; } .info { background: #34495e; }
+            .panels { display: flex; gap: 20px; align-items: flex-start; }
+            .panel { background: #fff; padding: 12px; border-radius: 6px; flex: 1; }
+            table { border-collapse: collapse; width: 100%; font-size: 13px; }
+            td, th { border-bottom: 1px solid #eee; padding: 4px; text-align: left; }
+            .PASS { color: #27ae60; } .FAIL { color: #e74c3c; } .SKIP { color: #f39c12; }
+            </style>
+            </head>
+            <body>
+            <h2>Live Test Dashboard <small id="state">connecting...</small></h2>
+            <div class="cards" id="cards"></div>
+            <div class="panels">
+              <div class="panel"><h3>Modules</h3><table id="modules"></table></div>
+              <div class="panel"><h3>Slowest tests</h3><table id="slowest"></table></div>
+              <div class="panel"><h3>Latest results</h3><table id="feed"></table></div>
+            </div>
+            <script>
+            function time(sec) {
+              if (sec == null) return '-';
+              var h = Math.floor(sec / 3600), m = Math.floor(sec % 3600 / 60), s = sec % 60;
+              return (h ? h + 'h ' : '') + m + 'm ' + s + 's';
+            }
+            function text(s) { var d = document.createElement('div'); d.textContent = s; return d.innerHTML; }
+            var source = new EventSource('events');
+            source.onopen = function () { document.getElementById('state').textContent = 'running'; };
+            source.addEventListener('summary', function (e) {
+              var s = JSON.parse(e.data);
+              if (s.passed === undefined) return;
+              document.getElementById('cards').innerHTML =
+                '<span class="pass">Passed ' + s.passed + '</span><span class="fail">Failed ' + s.failed + '</span>'
+                + '<span class="skip">Skipped ' + s.skipped + '</span><span class="info">Done ' + s.done + ' / ' + s.planned + '</span>'
+                + '<span class="info">' + s.testsPerMinute + ' tests/min</span><span class="info">Elapsed ' + time(s.elapsedSec) + '</span>'
+                + '<span class="info">ETA ' + time(s.etaSec) + '</span>';
+              document.getElementById('modules').innerHTML = '<tr><th>Module</th><th>Pass</th><th>Fail</th><th>Skip</th></tr>'
+                + s.modules.map(function (m) {
+                  return '<tr><td>' + text(m.module) + '</td><td>' + m.passed + '</td><td>' + m.failed + '</td><td>' + m.skipped + '</td></tr>';
+                }).join('');
+              document.getElementById('slowest').innerHTML = s.slowest.map(function (t) {
+                return '<tr><td>' + text(t.name) + '</td><td>' + (t.durationMs / 1000).toFixed(1) + 's</td></tr>';
+              }).join('');
+            });
+            source.addEventListener('test', function (e) {
+              var t = JSON.parse(e.data), feed = document.getElementById('feed');
+              var row = feed.insertRow(0);
+              row.innerHTML = '<td class="' + t.status + '">' + t.status + '</td><td>' + text(t.name) + '</td><td>' + (t.durationMs / 1000).toFixed(1) + 's</td>';
+              while (feed.rows.length > 50) feed.deleteRow(50);
+            });
+            source.addEventListener('done', function () {
+              document.getElementById('state').textContent = 'finished';
+              source.close();
+            });
+            source.onerror = function () { document.getElementById('state').textContent = 'disconnected'; };
+            </script>
+            </body>
+            </html>
+            """;
+}
@@ -6,30 +6,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Properties;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import reporting.DetailedTestReporter.ExecutionStatus;
+import reporting.ResultAggregator.Status;
+import reporting.ResultAggregator.Summary;
 /**
  * Custom TestNG Listener for generating an HTML report. Tracks test execution results and duration.
  */
 public class NewCutsomHTMLReport implements ITestListener, ISuiteListener
 {
 
-	// Atomic counters for thread-safe operation
-	private final List<String> passMethods = new LinkedList<>();
-	private final List<String> failMethods = new LinkedList<>();
-	private final List<String> noRunMethods = new LinkedList<>();
+	private final ResultAggregator results = new ResultAggregator();
 
 	private long startTime;
 	private String dateTime;
@@ -52,7 +44,7 @@ public class NewCutsomHTMLReport implements ITestListener, ISuiteListener
 	@Override
 	public void onTestSuccess(ITestResult result)
 	{
-		passMethods.add(System.getProperty("method_name"));
+		results.record(result, Status.PASS);
 		NewSummaryReportGenerator.recordTestResult(result.getName(), "PASSED");
 	}
 
@@ -62,7 +54,7 @@ public class NewCutsomHTMLReport implements ITestListener, ISuiteListener
 	@Override
 	public void onTestFailure(ITestResult result)
 	{
-		failMethods.add(System.getProperty("method_name"));
+		results.record(result, Status.FAIL);
 		NewSummaryReportGenerator.recordTestResult(result.getName(), "Failed");
 	}
 
@@ -72,7 +64,7 @@ public class NewCutsomHTMLReport implements ITestListener, ISuiteListener
 	@Override
 	public void onTestSkipped(ITestResult result)
 	{
-		noRunMethods.add(System.getProperty("method_name"));
+		results.record(result, Status.SKIP);
 		NewSummaryReportGenerator.recordTestResult(result.getName(), "SKIPPED");
 	}
 
@@ -85,40 +77,24 @@ public class NewCutsomHTMLReport implements ITestListener, ISuiteListener
 //		long endTime = System.currentTimeMillis();
 //		String durationStr = formatDuration(endTime - startTime);
 		DetailedTestReporter.getReport().generateReport();
-		
-
-		// Clean up the skipped list by removing methods that eventually passed or failed
-		filterCount(passMethods, failMethods, noRunMethods);
 
 //		// Load properties before generating report
 //		loadPropertiesFromJar();
 
-		// Generate summary report
-		int totalPass = (int) DetailedTestReporter.testExecutions.stream().filter(t -> t.getStatus() == ExecutionStatus.PASS).count();
-		int totalFail = (int) DetailedTestReporter.testExecutions.stream().filter(t -> t.getStatus() == ExecutionStatus.FAIL).count();
-		int totalSkip = (int) DetailedTestReporter.testExecutions.stream().filter(t -> t.getStatus() == ExecutionStatus.SKIPPED).count();
-
-		long totalDuration = DetailedTestReporter.testExecutions.stream().mapToLong(t -> t.getEndTime().getTime() - t.getStartTime().getTime()).sum();
-		
-		NewSummaryReportGenerator.generateReport(totalPass, totalFail, totalSkip,String.valueOf(totalDuration), dateTime);
-	}
-
-	public void filterCount(List<String> passMethod, List<String> failMethod, List<String> noRunMethod)
-	{
-		// Use a Set for faster lookup and cleaner logic
-		Set<String> passSet = new HashSet<>(passMethod);
-		Set<String> failSet = new HashSet<>(failMethod);
-
-		// Use iterator to safely remove while iterating
-		Iterator<String> iterator = noRunMethod.iterator();
-		while (iterator.hasNext())
+		// Generate summary report from the recorded test cases in one pass; fall back to
+		// TestNG results when no test case recorded steps (e.g. API-only suites)
+		Summary listenerSummary = results.summarize();
+		Summary summary = ResultAggregator.summarize(DetailedTestReporter.testExecutions);
+		if (summary.total() == 0)
 		{
-			String method = iterator.next();
-			if (passSet.contains(method) || failSet.contains(method))
-			{
-				iterator.remove(); // safe removal
-			}
+			summary = listenerSummary;
 		}
+		if (listenerSummary.retried() > 0)
+		{
+			TestLogManager.info("Retried attempts (not counted in totals): " + listenerSummary.retried());
+		}
+
+		NewSummaryReportGenerator.generateReport(summary.passed(), summary.failed(), summary.skipped(), String.valueOf(summary.totalDurationMs()), dateTime);
 	}
 
 	/**
@@ -2,9 +2,9 @@ package reporting;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -26,7 +26,6 @@ import reporting.DetailedTestReporter.TestExecution;
 public class NewSummaryReportGenerator
 {
 
-	private static String html = "";
 	public static final Map<String, ModuleStats> moduleStats = new ConcurrentHashMap<>();
 
 
@@ -92,10 +91,10 @@ public class NewSummaryReportGenerator
 		String reportPath = System.getProperty("IsPageLoadReport").toLowerCase().equals("yes") ? pageloadReportPath : customreport;
 
 		// 1. Generate and save the HTML report
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(reportPath)))
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportPath), StandardCharsets.UTF_8), 64 * 1024))
 		{
-			String reportHtml = customReportHtml(pass, fail, noRun, duration, startTime);
-			writer.write(reportHtml);
+			String productName = System.getProperty("ProductName");
+			REPORT_TEMPLATE.render(reportValues(pass, fail, noRun, pass + fail + noRun, duration, startTime), writer);
 		} catch (Exception e)
 		{
 			System.err.println("❌ Failed to generate HTML report: " + e.getMessage());
@@ -128,12 +127,12 @@ public class NewSummaryReportGenerator
 		// Add Excel report if required
 		if ("yes".equalsIgnoreCase(System.getProperty("isExcelAttach")))
 		{
-			String excelFilePath = System.getProperty("user.dir") + File.separator + "TestSummary.xlsx";
+			String excelFilePath = System.getProperty("ResulExcelPath", System.getProperty("user.dir") + File.separator + "TestSummary.xlsx");
 			File excelFile = new File(excelFilePath);
 			if (excelFile.exists())
 			{
 				filePaths.add(excelFilePath);
-				fileNames.add("TestSummary.xlsx");
+				fileNames.add(excelFile.getName());
 			} else
 			{
 				System.err.println("⚠️ Excel file not found: " + excelFilePath);
@@ -173,84 +172,7 @@ public class NewSummaryReportGenerator
 	{
 		String productName = System.getProperty("ProductName");
 		int total = pass + fail + noRun;
-		html = getReportHtml(productName, pass, fail, noRun, total, duration, startTime);
-
-		replaceResourceContent("${CHART_JS}", "https://cdn.jsdelivr.net/npm/chart.js");
-		replaceResourceContent("${FONT_AWESOME}", "https://cdnjs.cloudflare.com/ajax/libs/font-awesome/5.15.4/css/all.min.css");
-
-		replaceImageWithBase64("{{logoImage}}", getProductLogo(productName));
-		replaceImageWithBase64("{{detailedReportIcon}}", "/images/report-icon.svg");
-
-		return html;
-	}
-
-	private static void replaceResourceContent(String key, String resourcePath)
-	{
-		if (resourcePath.startsWith("http"))
-		{
-			// For CDN resources, just replace the placeholder with the CDN link
-			String linkTag = resourcePath.endsWith(".css") ? String.format("<link rel=\"stylesheet\" href=\"%s\" />", resourcePath) : String.format("<script src=\"%s\"></script>", resourcePath);
-			html = html.replace(key, linkTag);
-		} else
-		{
-			try (InputStream is = NewSummaryReportGenerator.class.getResourceAsStream(resourcePath))
-			{
-				if (is == null)
-				{
-					System.err.println("⚠️ Resource not found: " + resourcePath);
-					return;
-				}
-				String content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-				html = html.replace(key, content);
-			} catch (IOException e)
-			{
-				e.printStackTrace();
-			}
-		}
-	}
-
-	private static void replaceImageWithBase64(String key, String path)
-	{
-		if (path.isEmpty())
-		{
-			return;
-		}
-
-		try (InputStream is = NewSummaryReportGenerator.class.getResourceAsStream(path))
-		{
-			if (is != null)
-			{
-				byte[] bytes = is.readAllBytes();
-				String base64 = Base64.getEncoder().encodeToString(bytes);
-				String extension = path.substring(path.lastIndexOf(".") + 1);
-				html = html.replace(key, "data:image/svg+xml;base64," + base64);
-			}
-		} catch (IOException e)
-		{
-			e.printStackTrace();
-		}
-	}
-
-	private static String getProductLogo(String productName)
-	{
-		if (productName == null)
-		{
-			return "";
-		}
-
-		switch (productName.toLowerCase())
-		{
-		case "resul":
-			return "/images/resul.svg";
-		case "marketingstar":
-			return "/images/marketingstar.svg";
-		case "smartdx":
-			return "/images/smartdx.svg";
-		case "grape":
-			return "/images/grape.svg";
-		default:
-			return "";
-		}
+		return getReportHtml(productName, pass, fail, noRun, total, duration, startTime);
 	}
 
 	public static String getModuleName()
@@ -261,9 +183,32 @@ public class NewSummaryReportGenerator
 
 	public static String getReportHtml(String productName, int pass, int fail, int noRun, int total, String duration,
 			String startTime) {
-		String detailedReportContent = DetailedTestReporter.generateHTMLContent();
-		String moduleDataJson = getModuleDataJson();
-		return String.format(
+		return REPORT_TEMPLATE.render(reportValues(pass, fail, noRun, total, duration, startTime));
+	}
+
+	private static Map<String, Object> reportValues(int pass, int fail, int noRun, int total, String duration,
+			String startTime) {
+		Map<String, Object> values = new HashMap<>();
+		values.put("environment", System.getProperty("Environment"));
+		values.put("account", System.getProperty("Account"));
+		values.put("browser", System.getProperty("Browser"));
+		values.put("userName", System.getProperty("UserName"));
+		values.put("releaseVersion", System.getProperty("ReleaseVersion"));
+		values.put("requestedBy", System.getProperty("user.name"));
+		values.put("machineUser", System.getProperty("user.name"));
+		values.put("startTime", startTime);
+		values.put("pass", pass);
+		values.put("fail", fail);
+		values.put("noRun", noRun);
+		values.put("total", total);
+		// Streamed into the output rather than built as one more large String
+		values.put("detailedReport", (HtmlTemplate.Fragment) DetailedTestReporter::writeHTMLContent);
+		values.put("moduleData", getModuleDataJson());
+		return values;
+	}
+
+	// Compiled once per JVM; placeholders are filled from reportValues
+	private static final HtmlTemplate REPORT_TEMPLATE = HtmlTemplate.compile(
 				"""
 						<!DOCTYPE html>
 						<html lang="en">
@@ -281,7 +226,7 @@ public class NewSummaryReportGenerator
 						            color: #333;
 						        }
 						        .header {
-						            background: linear-gradient(135deg, white 0%%, #00006e 100%%);
+						            background: linear-gradient(135deg, white 0%, #00006e 100%);
 						            color: white;
 						            padding: 5px 0;
 						            text-align: center;
@@ -337,18 +282,18 @@ public class NewSummaryReportGenerator
 						        .analytics-dashboard { display: grid; grid-template-columns: 0.4fr 1.6fr; gap: 30px; margin-top: 20px; }
 						        .table-side { display: flex; flex-direction: column; }
 						        .module-table {
-						            width: 100%%; border-collapse: collapse; margin-top: 20px; background: white;
+						            width: 100%; border-collapse: collapse; margin-top: 20px; background: white;
 						            border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);
 						            border: 1px solid #ddd;
 						        }
 						        .module-table th {
-						            background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%);
+						            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
 						            color: white; padding: 15px 12px; text-align: center;
 						        }
 						        .module-table td { padding: 12px;font-weight:600; text-align: center; border-bottom: 1px solid #eee; }
 						        .module-name { font-weight: 600; color: #333; text-align: left; }
 						        .footer {
-						            background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%);
+						            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
 						            color: white; text-align: center; padding: 20px; margin-top: 30px;
 						        }
 						        .footer-note { color: white; font-style: italic; }
@@ -410,23 +355,23 @@ public class NewSummaryReportGenerator
 
 						        <div class="environment-info">
 						            <div class="environment-grid">
-						                <div class="env-item"><span class="env-label">Environment:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Account:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Browser:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Username:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Release Version:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Requested By:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Machine User:</span> <span>%s</span></div>
-						                <div class="env-item"><span class="env-label">Execution Date:</span> <span>%s</span></div>
+						                <div class="env-item"><span class="env-label">Environment:</span> <span>{{environment}}</span></div>
+						                <div class="env-item"><span class="env-label">Account:</span> <span>{{account}}</span></div>
+						                <div class="env-item"><span class="env-label">Browser:</span> <span>{{browser}}</span></div>
+						                <div class="env-item"><span class="env-label">Username:</span> <span>{{userName}}</span></div>
+						                <div class="env-item"><span class="env-label">Release Version:</span> <span>{{releaseVersion}}</span></div>
+						                <div class="env-item"><span class="env-label">Requested By:</span> <span>{{requestedBy}}</span></div>
+						                <div class="env-item"><span class="env-label">Machine User:</span> <span>{{machineUser}}</span></div>
+						                <div class="env-item"><span class="env-label">Execution Date:</span> <span>{{startTime}}</span></div>
 						            </div>
 						        </div>
 
 						        <div class="container">
 						            <div class="stats-grid">
-						                <div class="stat-card"><div class="stat-number passed" box-shadow:0px>%d</div><div class="stat-label">Passed Tests</div></div>
-						                <div class="stat-card"><div class="stat-number failed" box-shadow:0px>%d</div><div class="stat-label">Failed Tests</div></div>
-						                <div class="stat-card"><div class="stat-number skipped" box-shadow:0px>%d</div><div class="stat-label">Skipped Tests</div></div>
-						                <div class="stat-card"><div class="stat-number total" box-shadow:0px>%d</div><div class="stat-label">Total Tests</div></div>
+						                <div class="stat-card"><div class="stat-number passed" box-shadow:0px>{{pass}}</div><div class="stat-label">Passed Tests</div></div>
+						                <div class="stat-card"><div class="stat-number failed" box-shadow:0px>{{fail}}</div><div class="stat-label">Failed Tests</div></div>
+						                <div class="stat-card"><div class="stat-number skipped" box-shadow:0px>{{noRun}}</div><div class="stat-label">Skipped Tests</div></div>
+						                <div class="stat-card"><div class="stat-number total" box-shadow:0px>{{total}}</div><div class="stat-label">Total Tests</div></div>
 						            </div>
 
 						            <div class="charts-section">
@@ -436,7 +381,7 @@ public class NewSummaryReportGenerator
 						                        <h3>📋 Module-wise Test Results</h3>
 						                        <table class="module-table">
 						                            <thead>
-						                                <tr><th>Module</th><th>Total</th><th>Passed</th><th>Failed</th><th>Skipped</th><th>Success %%</th></tr>
+						                                <tr><th>Module</th><th>Total</th><th>Passed</th><th>Failed</th><th>Skipped</th><th>Success %</th></tr>
 						                            </thead>
 						                            <tbody id="moduleTableBody"></tbody>
 						                        </table>
@@ -461,7 +406,7 @@ public class NewSummaryReportGenerator
 
 						    <div id="detailed-section" class="detailed-section">
 						        <a href="javascript:void(0)" class="back-btn" onclick="showSummary()">← Back to Summary</a>
-						        %s
+						        {{detailedReport}}
 						    </div>
 						    <script>
 						        function showDetailedReport() {
@@ -475,7 +420,7 @@ public class NewSummaryReportGenerator
 						            window.scrollTo(0,0);
 						        }
 
-						        const moduleData = %s;
+						        const moduleData = {{moduleData}};
 						        // Initialize the chart
 						        function initChart() {
 						            try {
@@ -485,7 +430,7 @@ public class NewSummaryReportGenerator
 						                    data: {
 						                        labels: ['Passed', 'Failed', 'Skipped'],
 						                        datasets: [{
-						                            data: [%d, %d, %d],
+						                            data: [{{pass}}, {{fail}}, {{noRun}}],
 						                            backgroundColor: ['#28a745', '#dc3545', '#ffc107'],
 						                            borderWidth: 2,
 						                            borderColor: '#fff'
@@ -504,7 +449,7 @@ public class NewSummaryReportGenerator
 						                                    label: function(context) {
 						                                        const total = context.dataset.data.reduce((a, b) => a + b, 0);
 						                                        const percentage = ((context.parsed / total) * 100).toFixed(1);
-						                                        return `${context.label}: ${context.parsed} (${percentage}%%)`;
+						                                        return `${context.label}: ${context.parsed} (${percentage}%)`;
 						                                    }
 						                                }
 						                            }
@@ -525,7 +470,7 @@ public class NewSummaryReportGenerator
 						                    <td class="count-passed">${m.passed}</td>
 						                    <td class="count-failed">${m.failed}</td>
 						                    <td class="count-skipped">${m.skipped}</td>
-						                    <td><div class="count-passed">${rate}%%</div></td>
+						                    <td><div class="count-passed">${rate}%</div></td>
 						                </tr>`;
 						            }).join('');
 						        }
@@ -533,12 +478,7 @@ public class NewSummaryReportGenerator
 						    </script>
 						</body>
 						</html>
-						""",
-				System.getProperty("Environment"), System.getProperty("Account"), System.getProperty("Browser"),
-				System.getProperty("UserName"), System.getProperty("ReleaseVersion"), System.getProperty("user.name"),
-				System.getProperty("user.name"), startTime, pass, fail, noRun, total, detailedReportContent,
-				moduleDataJson, pass, fail, noRun);
-	}
+						""");
 
 	private static String encodeFileToBase64(String filePath) {
 	    try {
@@ -0,0 +1,58 @@
+package reporting;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classpath resources embedded in the summary reports (CSS, JS, logos).
+ * Each one is read and, for images, Base64-encoded once per JVM; a missing
+ * resource is reported once and cached as an empty string.
+ */
+final class ReportAssets {
+
+    private static final Map<String, String> texts = new ConcurrentHashMap<>();
+    private static final Map<String, String> images = new ConcurrentHashMap<>();
+
+    private ReportAssets() {
+    }
+
+    /**
+     * Resource content as UTF-8 text, or "" if it does not exist.
+     */
+    static String text(String resourcePath) {
+        return texts.computeIfAbsent(resourcePath, path -> {
+            byte[] bytes = read(path);
+            if (bytes == null) {
+                System.err.println("⚠️ Resource not found: " + path);
+                return "";
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        });
+    }
+
+    /**
+     * SVG resource as a data URI, or "" if the path is empty or missing.
+     */
+    static String svgDataUri(String resourcePath) {
+        if (resourcePath == null || resourcePath.isEmpty()) {
+            return "";
+        }
+        return images.computeIfAbsent(resourcePath, path -> {
+            byte[] bytes = read(path);
+            return bytes == null ? "" : "data:image/svg+xml;base64," + Base64.getEncoder().encodeToString(bytes);
+        });
+    }
+
+    private static byte[] read(String path) {
+        try (InputStream is = ReportAssets.class.getResourceAsStream(path)) {
+            return is == null ? null : is.readAllBytes();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
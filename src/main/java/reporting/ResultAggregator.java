@@ -0,0 +1,85 @@
+package reporting;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.testng.ITestResult;
+
+import reporting.DetailedTestReporter.TestExecution;
+
+/**
+ * Collects TestNG results from parallel listener callbacks without locking.
+ *
+ * Every callback bumps a LongAdder for its status and adds its duration.
+ * An attempt that TestNG reports as skipped because it is about to be
+ * retried ({@link ITestResult#wasRetried()}) is counted as a retry instead,
+ * so only the retry's result reaches the totals. Every other callback is a
+ * final outcome of its own, so invocationCount repeats and identical
+ * data-provider rows are all counted.
+ */
+public final class ResultAggregator {
+
+    public enum Status {
+        PASS, FAIL, SKIP
+    }
+
+    /**
+     * Totals of one summary pass; durations are in milliseconds.
+     */
+    public record Summary(int passed, int failed, int skipped, long totalDurationMs, long retried) {
+
+        public int total() {
+            return passed + failed + skipped;
+        }
+    }
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder durationMs = new LongAdder();
+
+    public void record(ITestResult result, Status status) {
+        if (result.wasRetried()) {
+            retried.increment();
+            return;
+        }
+        switch (status) {
+            case PASS -> passed.increment();
+            case FAIL -> failed.increment();
+            case SKIP -> skipped.increment();
+        }
+        durationMs.add(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+    }
+
+    /**
+     * Final status of every test invocation, retried attempts excluded.
+     */
+    public Summary summarize() {
+        return new Summary(passed.intValue(), failed.intValue(), skipped.intValue(), durationMs.sum(), retried.sum());
+    }
+
+    /**
+     * The same totals over DetailedTestReporter executions, in one pass.
+     * Executions that never recorded an end time add no duration.
+     */
+    public static Summary summarize(Collection<TestExecution> executions) {
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        long duration = 0;
+        for (TestExecution execution : executions) {
+            if (execution.getStatus() != null) {
+                switch (execution.getStatus()) {
+                    case PASS -> passed++;
+                    case FAIL -> failed++;
+                    case SKIPPED -> skipped++;
+                }
+            }
+            if (execution.getStartTime() != null && execution.getEndTime() != null) {
+                duration += execution.getEndTime().getTime() - execution.getStartTime().getTime();
+            }
+        }
+        return new Summary(passed, failed, skipped, duration, 0);
+    }
+}
@@ -0,0 +1,318 @@
+package reporting;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.ScreenCapture;
+import com.aventstack.extentreports.model.Test;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Incremental report backend used when {@code reportType=stream}.
+ *
+ * Each finished test is serialised to one JSON line and queued; a daemon
+ * thread appends the queue to {@code tests.jsonl} every
+ * {@code report.stream.flushSec} seconds (default 5). {@code index.html} is a
+ * static viewer that renders the file, so the report can be opened while the
+ * suite is still running and a crashed run keeps everything flushed so far.
+ * ExtentManager drops each test from the Extent model once it is written,
+ * keeping heap use flat however long the suite runs. Base64 screenshots are
+ * decoded into the {@code media} folder next to the file; all screenshots are
+ * referenced relative to the report folder. Log details and descriptions are
+ * reduced to plain text; a log that is a single Extent link (test log, full
+ * API response) keeps its target in a separate {@code link} field.
+ */
+public final class StreamingReportWriter {
+
+    private static final long FLUSH_SEC = Long.parseLong(System.getProperty("report.stream.flushSec", "5"));
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong mediaCounter = new AtomicLong();
+    // Links as ExtentManager.linkTestLog and ResponseLogger write them
+    private static final Pattern LINK = Pattern.compile("<a href='([^'<>]*)' target='_blank'>([^<>]*)</a>");
+    private static final Pattern LINE_BREAK = Pattern.compile("(?i)<br\\s*/?>|</(?:p|div|tr|li|h\\d)>");
+    private static final Pattern CELL_END = Pattern.compile("(?i)</t[dh]>");
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+    private static volatile Path reportRoot;
+    private static volatile Path mediaDir;
+    private static BufferedWriter writer;
+    private static ScheduledExecutorService flusher;
+
+    private StreamingReportWriter() {
+    }
+
+    /**
+     * Create the report directory with its viewer and start the flush thread.
+     *
+     * @return path of the viewer page
+     */
+    public static synchronized String start(String reportDir) {
+        Path dir = Paths.get(reportDir);
+        try {
+            Files.createDirectories(dir);
+            reportRoot = dir.toAbsolutePath();
+            mediaDir = reportRoot.resolve("media");
+            Files.writeString(dir.resolve("index.html"), VIEWER, StandardCharsets.UTF_8);
+            writer = Files.newBufferedWriter(dir.resolve("tests.jsonl"), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            TestLogManager.error("Failed to create streaming report in " + reportDir, e);
+            throw new RuntimeException("Failed to create streaming report", e);
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "report-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(StreamingReportWriter::flush, FLUSH_SEC, FLUSH_SEC, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(StreamingReportWriter::flush, "report-final-flush"));
+        TestLogManager.info("Streaming report: " + dir.resolve("index.html"));
+        return dir.resolve("index.html").toString();
+    }
+
+    public static boolean isActive() {
+        return writer != null;
+    }
+
+    /**
+     * Queue a finished test. Serialisation happens on the calling thread, file I/O does not.
+     */
+    public static void append(Test test) {
+        try {
+            pending.add(mapper.writeValueAsString(toMap(test)));
+        } catch (JsonProcessingException e) {
+            TestLogManager.error("Failed to serialise test for streaming report: " + test.getName(), e);
+        }
+    }
+
+    /**
+     * Write everything queued so far to disk.
+     */
+    public static synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            String line;
+            while ((line = pending.poll()) != null) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            TestLogManager.error("Failed to flush streaming report", e);
+        }
+    }
+
+    /**
+     * Final flush at the end of the suite.
+     */
+    public static synchronized void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+        flush();
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            TestLogManager.error("Failed to close streaming report", e);
+        }
+        writer = null;
+    }
+
+    private static Map<String, Object> toMap(Test test) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("name", test.getName());
+        node.put("description", plainText(test.getDescription()));
+        node.put("status", String.valueOf(test.getStatus()));
+        node.put("start", test.getStartTime() == null ? null : test.getStartTime().getTime());
+        node.put("end", test.getEndTime() == null ? System.currentTimeMillis() : test.getEndTime().getTime());
+
+        List<Map<String, Object>> logs = new ArrayList<>(test.getLogs().size());
+        for (Log log : test.getLogs()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", String.valueOf(log.getStatus()));
+            entry.put("time", log.getTimestamp() == null ? null : log.getTimestamp().getTime());
+            String details = log.getDetails();
+            Matcher link = details == null ? null : LINK.matcher(details.trim());
+            if (link != null && link.matches() && isSafeLink(link.group(1))) {
+                entry.put("details", plainText(link.group(2)));
+                entry.put("link", link.group(1));
+            } else {
+                entry.put("details", plainText(details));
+            }
+            Media media = log.getMedia();
+            if (media != null && media.getPath() != null) {
+                entry.put("media", reportRelativePath(media.getPath()));
+            } else if (media instanceof ScreenCapture capture && capture.getBase64() != null) {
+                String path = writeBase64(capture.getBase64());
+                if (path != null) {
+                    entry.put("media", path);
+                }
+            }
+            logs.add(entry);
+        }
+        node.put("logs", logs);
+
+        if (!test.getChildren().isEmpty()) {
+            List<Map<String, Object>> children = new ArrayList<>(test.getChildren().size());
+            for (Test child : test.getChildren()) {
+                children.add(toMap(child));
+            }
+            node.put("children", children);
+        }
+        return node;
+    }
+
+    /**
+     * Extent markup as readable text: line breaks kept, other tags dropped.
+     */
+    private static String plainText(String html) {
+        if (html == null) {
+            return null;
+        }
+        String text = LINE_BREAK.matcher(html).replaceAll("\n");
+        text = CELL_END.matcher(text).replaceAll(" ");
+        text = TAG.matcher(text).replaceAll("");
+        return text.replace("&nbsp;", " ").replace("&lt;", "<").replace("&gt;", ">")
+                .replace("&quot;", "\"").replace("&#39;", "'").replace("&amp;", "&").trim();
+    }
+
+    // Relative links and web/file URLs only; no javascript: or data: targets
+    private static boolean isSafeLink(String href) {
+        return !href.matches("(?i)[a-z][a-z0-9+.-]*:.*") || href.matches("(?i)(https?|file):.*");
+    }
+
+    /**
+     * A screenshot path relative to the report folder, like
+     * DetailedTestReporter does for its own report. URLs and relative paths
+     * are kept as they are.
+     */
+    private static String reportRelativePath(String path) {
+        Path dir = reportRoot;
+        if (dir == null || path.contains("://")) {
+            return path;
+        }
+        try {
+            Path media = Paths.get(path);
+            if (!media.isAbsolute()) {
+                return path.replace(File.separatorChar, '/');
+            }
+            return dir.relativize(media).toString().replace(File.separatorChar, '/');
+        } catch (InvalidPathException e) {
+            return path;
+        } catch (IllegalArgumentException e) {
+            // Different drive/root than the report folder, fall back to an absolute URI
+            return Paths.get(path).toUri().toString();
+        }
+    }
+
+    /**
+     * Decode an embedded screenshot into the media folder.
+     *
+     * @return path relative to the viewer, or null if it could not be written
+     */
+    private static String writeBase64(String base64) {
+        String data = base64.startsWith("data:") ? base64.substring(base64.indexOf(',') + 1) : base64;
+        String name = "screenshot_" + mediaCounter.incrementAndGet() + ".png";
+        try {
+            Files.createDirectories(mediaDir);
+            Files.write(mediaDir.resolve(name), Base64.getMimeDecoder().decode(data));
+            return "media/" + name;
+        } catch (IOException | IllegalArgumentException e) {
+            TestLogManager.warning("Failed to write embedded screenshot for streaming report: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static final String VIEWER = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+            <meta charset="UTF-8">
+            <title>Test Report</title>
+            <style>
+            body { font-family: Segoe UI, Arial, sans-serif; margin: 20px; background: #f5f6fa; }
+            .summary span { display: inline-block; margin-right: 16px; padding: 6px 12px; border-radius: 4px; color: #fff; }
+            .pass { background: #27ae60; } .fail { background: #e74c3c; } .skip { background: #f39c12; } .other { background: #7f8c8d; }
+            details { background: #fff; margin: 6px 0; padding: 8px; border-left: 6px solid #7f8c8d; }
+            details.PASS { border-color: #27ae60; } details.FAIL { border-color: #e74c3c; } details.SKIP { border-color: #f39c12; }
+            table { border-collapse: collapse; width: 100%; font-size: 13px; }
+            td { border-bottom: 1px solid #eee; padding: 4px; vertical-align: top; white-space: pre-wrap; }
+            img { max-width: 480px; }
+            </style>
+            </head>
+            <body>
+            <h2>Test Report</h2>
+            <p>Loads tests.jsonl from this folder (serve the folder over HTTP), or pick the file:
+            <input type="file" id="file" accept=".jsonl"> <button onclick="load()">Refresh</button></p>
+            <div class="summary" id="summary"></div>
+            <div id="tests"></div>
+            <script>
+            function esc(s) {
+              return s == null ? '' : String(s).replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;')
+                .replace(/"/g, '&quot;').replace(/'/g, '&#39;');
+            }
+            function render(text) {
+              var tests = text.split('\\n').filter(function (l) { return l.trim(); }).map(JSON.parse);
+              var counts = {};
+              var html = tests.map(function (t) {
+                counts[t.status] = (counts[t.status] || 0) + 1;
+                var rows = (t.logs || []).map(function (l) {
+                  var media = l.media ? '<br><img src="' + esc(l.media) + '">' : '';
+                  var details = l.link ? '<a href="' + esc(l.link) + '" target="_blank">' + esc(l.details) + '</a>' : esc(l.details);
+                  return '<tr><td>' + new Date(l.time).toLocaleTimeString() + '</td><td>' + esc(l.status) + '</td><td>' + details + media + '</td></tr>';
+                }).join('');
+                var secs = t.start ? ((t.end - t.start) / 1000).toFixed(1) + 's' : '';
+                return '<details class="' + esc(t.status) + '"><summary><b>' + esc(t.name) + '</b> - ' + esc(t.status) + ' ' + secs + '</summary>'
+                  + '<div>' + esc(t.description) + '</div><table>' + rows + '</table></details>';
+              }).join('');
+              document.getElementById('tests').innerHTML = html;
+              document.getElementById('summary').innerHTML = Object.keys(counts).map(function (k) {
+                var css = k === 'PASS' ? 'pass' : k === 'FAIL' ? 'fail' : k === 'SKIP' ? 'skip' : 'other';
+                return '<span class="' + css + '">' + esc(k) + ': ' + counts[k] + '</span>';
+              }).join('') + '<span class="other">Total: ' + tests.length + '</span>';
+            }
+            function load() {
+              fetch('tests.jsonl', { cache: 'no-store' }).then(function (r) { return r.text(); }).then(render)
+                .catch(function () { document.getElementById('summary').textContent = 'Could not fetch tests.jsonl; choose the file above.'; });
+            }
+            document.getElementById('file').addEventListener('change', function (e) {
+              var reader = new FileReader();
+              reader.onload = function () { render(reader.result); };
+              reader.readAsText(e.target.files[0]);
+            });
+            load();
+            </script>
+            </body>
+            </html>
+            """;
+}
@@ -3,18 +3,15 @@ package reporting;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 
 public class SummaryReportGenerator
 {
 
-	private static String html = "";
-
 	public static void generateReport(int pass, int fail, int noRun, String duration, String startTime)
 	{
 		String reportHtml = customReportHtml(pass, fail, noRun, duration, startTime);
@@ -36,7 +33,7 @@ public class SummaryReportGenerator
 				try
 				{
 					String htmlFilePath = reportPath;
-					String excelFilePath = System.getProperty("user.dir") + File.separator + "TestSummary.xlsx";
+					String excelFilePath = System.getProperty("ResulExcelPath", System.getProperty("user.dir") + File.separator + "TestSummary.xlsx");
 
 					File htmlFile = new File(htmlFilePath);
 					File excelFile = new File(excelFilePath);
@@ -61,7 +58,7 @@ public class SummaryReportGenerator
 							fileNames.append(",");
 						}
 						filePaths.append(excelFilePath);
-						fileNames.append("TestSummary.xlsx");
+						fileNames.append(excelFile.getName());
 					} else
 					{
 						System.err.println("⚠️ Excel file not found: " + excelFilePath);
@@ -98,50 +95,7 @@ public class SummaryReportGenerator
 	{
 		String productName = System.getProperty("ProductName");
 		int total = pass + fail + noRun;
-		html = getReportHtml(productName, pass, fail, noRun, total, duration, startTime);
-
-		replaceResourceContent("${JQUERY_JS}", "/js/jquery.min.js");
-		replaceResourceContent("${TABLESORTER_JS}", "/js/jquery.tablesorter.min.js");
-		replaceResourceContent("${BOOTSTRAP_CSS}", "/css/bootstrap.min.css");
-		replaceResourceContent("${CUCUMBER_CSS}", "/css/cucumber.css");
-		replaceResourceContent("${MOMENT_JS}", "/js/moment.min.js");
-
-		replaceImageWithBase64("{{logoImage}}", getProductLogo(productName));
-
-		return html;
-	}
-
-	private static void replaceResourceContent(String key, String resourcePath)
-	{
-		try (InputStream is = SummaryReportGenerator.class.getResourceAsStream(resourcePath))
-		{
-			if (is == null)
-			{
-				System.err.println("⚠️ Resource not found: " + resourcePath);
-				return;
-			}
-			String content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-			html = html.replace(key, content);
-		} catch (IOException e)
-		{
-			e.printStackTrace();
-		}
-	}
-
-	private static void replaceImageWithBase64(String key, String path)
-	{
-		try (InputStream is = SummaryReportGenerator.class.getResourceAsStream(path))
-		{
-			if (is != null)
-			{
-				byte[] bytes = is.readAllBytes();
-				String base64 = Base64.getEncoder().encodeToString(bytes);
-				html = html.replace(key, "data:image/svg+xml;base64," + base64);
-			}
-		} catch (IOException e)
-		{
-			e.printStackTrace();
-		}
+		return getReportHtml(productName, pass, fail, noRun, total, duration, startTime);
 	}
 
 	private static String getProductLogo(String productName)
@@ -169,21 +123,52 @@ public class SummaryReportGenerator
 
 	public static String getReportHtml(String productName, int pass, int fail, int noRun, int total, String duration, String startTime)
 	{
-
 		String base64Report = encodeFileToBase64("test-output/SingleReport.html");
 		boolean isReportAvailable = !base64Report.isEmpty();
 
-		return """
+		Map<String, Object> values = new HashMap<>();
+		values.put("pass", pass);
+		values.put("fail", fail);
+		values.put("noRun", noRun);
+		values.put("total", total);
+		values.put("passPercent", percent(pass, total));
+		values.put("failPercent", percent(fail, total));
+		values.put("skipPercent", percent(noRun, total));
+		values.put("duration", duration);
+		values.put("startTime", startTime);
+		values.put("showReportButton", isReportAvailable ? "$('#comprehensive-report-btn').show();" : "");
+		values.put("base64Report", base64Report);
+		values.put("environment", System.getProperty("Environment"));
+		values.put("releaseVersion", System.getProperty("ReleaseVersion"));
+		values.put("browser", System.getProperty("Browser"));
+		values.put("account", System.getProperty("Account"));
+		values.put("userName", System.getProperty("UserName"));
+		values.put("requestedBy", System.getProperty("user.name"));
+		values.put("moduleName", getModuleName());
+
+		// Bundled CSS/JS and the logo are read and encoded once per JVM
+		values.put("JQUERY_JS", ReportAssets.text("/js/jquery.min.js"));
+		values.put("TABLESORTER_JS", ReportAssets.text("/js/jquery.tablesorter.min.js"));
+		values.put("BOOTSTRAP_CSS", ReportAssets.text("/css/bootstrap.min.css"));
+		values.put("CUCUMBER_CSS", ReportAssets.text("/css/cucumber.css"));
+		values.put("MOMENT_JS", ReportAssets.text("/js/moment.min.js"));
+		values.put("logoImage", ReportAssets.svgDataUri(getProductLogo(productName)));
+
+		return REPORT_TEMPLATE.render(values);
+	}
+
+	// Compiled once per JVM; placeholders are filled in getReportHtml
+	private static final HtmlTemplate REPORT_TEMPLATE = HtmlTemplate.compile("""
 				<!DOCTYPE html>
 				<html>
 				<head>
 				    <meta http-equiv="Content-Type" content="text/html; charset=UTF-8" />
 				    <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/5.15.4/css/all.min.css" />
-				     <script>${JQUERY_JS}</script>
-				            <script>${TABLESORTER_JS}</script>
-				            <style>${BOOTSTRAP_CSS}</style>
-				            <style>${CUCUMBER_CSS}</style>
-				            <script>${MOMENT_JS}</script>
+				     <script>{{JQUERY_JS}}</script>
+				            <script>{{TABLESORTER_JS}}</script>
+				            <style>{{BOOTSTRAP_CSS}}</style>
+				            <style>{{CUCUMBER_CSS}}</style>
+				            <script>{{MOMENT_JS}}</script>
 
 				   <script type="text/javascript" src="https://www.gstatic.com/charts/loader.js"></script>
 				            <script type="text/javascript">
@@ -192,13 +177,13 @@ public class SummaryReportGenerator
 				                function drawChart() {
 				                    var data = google.visualization.arrayToDataTable([
 				                        ["Status", "Count"],
-				                        ["Pass", %d],
-				                        ["Fail", %d],
-				                        ["Skip", %d]
+				                        ["Pass", {{pass}}],
+				                        ["Fail", {{fail}}],
+				                        ["Skip", {{noRun}}]
 				                    ]);
 				                    var options = {
 				                        title: "Test Execution Summary Chart",
-				                        chartArea: { width: "150%%", top: 60, left: 100 },
+				                        chartArea: { width: "150%", top: 60, left: 100 },
 				                        pieHole: 0.4,
 				                        backgroundColor: '#00000000',
 				                        slices: {
@@ -219,12 +204,12 @@ public class SummaryReportGenerator
 				                        selectorHeaders: "> thead tr:not(.dont-sort) th",
 				                        sortStable: true
 				                    });
-				                    %s
+				                    {{showReportButton}}
 				                });
 
 				                function downloadComprehensiveReport() {
 				                    const link = document.createElement('a');
-				                    link.href = 'data:text/html;base64,' + '%s';
+				                    link.href = 'data:text/html;base64,' + '{{base64Report}}';
 				                    link.download = 'SingleReport.html';
 				                    link.click();
 				                }
@@ -240,13 +225,13 @@ public class SummaryReportGenerator
 				                <img id="logo" src="{{logoImage}}" />
 				                <h1>AUTOMATION - TEST SUMMARY REPORT
 				                <p>
-				                    Environment: %s ||
-				                    Release Version: %s ||
-				                    Browser: %s ||
-				                    Account: %s ||
-				                    Username: %s ||
-				                    Requestor: %s ||
-				                    Date & time: %s
+				                    Environment: {{environment}} ||
+				                    Release Version: {{releaseVersion}} ||
+				                    Browser: {{browser}} ||
+				                    Account: {{account}} ||
+				                    Username: {{userName}} ||
+				                    Requestor: {{requestedBy}} ||
+				                    Date & time: {{startTime}}
 				                </p>
 				                </h1>
 				                <div>
@@ -268,26 +253,26 @@ public class SummaryReportGenerator
 				                                <tr>
 				                                    <th>Module</th>
 				                                    <th class="passed">Passed</th>
-				                                    <th class="passed">Passed %%</th>
+				                                    <th class="passed">Passed %</th>
 				                                    <th class="failed">Failed</th>
-				                                    <th class="failed">Failed %%</th>
+				                                    <th class="failed">Failed %</th>
 				                                    <th class="skipped">Skipped</th>
-				                                    <th class="skipped">Skipped %%</th>
+				                                    <th class="skipped">Skipped %</th>
 				                                    <th class="total">Total</th>
 				                                    <th>Duration</th>
 				                                </tr>
 				                            </thead>
 				                            <tbody>
 				                                <tr>
-				                                    <td class="tagname" style="text-align: center;">%s</td>
-				                                    <td class="passed">%d</td>
-				                                    <td class="passed">%s</td>
-				                                    <td class="failed">%d</td>
-				                                    <td class="failed">%s</td>
-				                                    <td class="skipped">%d</td>
-				                                    <td class="skipped">%s</td>
-				                                    <td class="total">%d</td>
-				                                    <td class="duration" style="text-align: center;">%s</td>
+				                                    <td class="tagname" style="text-align: center;">{{moduleName}}</td>
+				                                    <td class="passed">{{pass}}</td>
+				                                    <td class="passed">{{passPercent}}</td>
+				                                    <td class="failed">{{fail}}</td>
+				                                    <td class="failed">{{failPercent}}</td>
+				                                    <td class="skipped">{{noRun}}</td>
+				                                    <td class="skipped">{{skipPercent}}</td>
+				                                    <td class="total">{{total}}</td>
+				                                    <td class="duration" style="text-align: center;">{{duration}}</td>
 				                                </tr>
 				                            </tbody>
 				                        </table>
@@ -313,19 +298,19 @@ public class SummaryReportGenerator
 				                                </tr>
 				                                <tr class="info">
 				                                    <th>Version</th>
-				                                    <td>%s</td>
+				                                    <td>{{releaseVersion}}</td>
 				                                </tr>
 				                                <tr class="info">
 				                                    <th>Browser</th>
-				                                    <td>%s</td>
+				                                    <td>{{browser}}</td>
 				                                </tr>
 				                                <tr class="info">
 				                                    <th>Environment</th>
-				                                    <td>%s</td>
+				                                    <td>{{environment}}</td>
 				                                </tr>
 				                                <tr class="info">
 				                                    <th>Requested by</th>
-				                                    <td>%s</td>
+				                                    <td>{{requestedBy}}</td>
 				                                </tr>
 				                            </tbody>
 				                        </table>
@@ -335,10 +320,7 @@ public class SummaryReportGenerator
 				            </div>
 				        </body>
 				        </html>
-				        """.formatted(pass, fail, noRun, isReportAvailable ? "$('#comprehensive-report-btn').show();" : "", base64Report, System.getProperty("Environment"), System.getProperty("ReleaseVersion"), System.getProperty("Browser"),
-				System.getProperty("Account"), System.getProperty("UserName"), System.getProperty("user.name"), startTime, getModuleName(), pass, percent(pass, total), fail, percent(fail, total), noRun, percent(noRun, total), total, duration,
-				System.getProperty("ReleaseVersion"), System.getProperty("Browser"), System.getProperty("Environment"), System.getProperty("user.name"));
-	}
+				        """);
 
 	private static String encodeFileToBase64(String filePath)
 	{
@@ -6,6 +6,7 @@ import org.apache.logging.log4j.Level;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -13,6 +14,12 @@ import java.time.format.DateTimeFormatter;
  * Comprehensive Log4j Manager for Test Automation Framework
  * Supports configurable logging levels: SUCCESS, INFO, WARNING, ERROR
  * Integrates with config.properties for dynamic configuration
+ *
+ * The configuration is compiled once into an immutable {@link LogConfig} of
+ * plain boolean gates and swapped atomically on reload, so a disabled call
+ * costs one volatile read. Messages are handed to log4j as parameters (or
+ * {@link Supplier}s) and only formatted when the gate is open; loggers are
+ * asynchronous via log4j2.component.properties.
  */
 public class TestLogManager {
     
@@ -23,9 +30,7 @@ public class TestLogManager {
     private static final Logger errorLogger = LogManager.getLogger("ERROR");
     private static final Logger testExecutionLogger = LogManager.getLogger("TestExecution");
     
-    private static Properties config;
-    private static String currentLogLevel;
-    private static boolean isInitialized = false;
+    private static volatile LogConfig config;
     
     // Custom log levels
     public static final Level SUCCESS = Level.forName("SUCCESS", 350);
@@ -35,24 +40,77 @@ public class TestLogManager {
         initializeLogManager();
     }
     
+    /**
+     * Immutable snapshot of the logging configuration, one flag per gate
+     */
+    private static final class LogConfig {
+        private final String level;
+        private final boolean success;
+        private final boolean info;
+        private final boolean warning;
+        private final boolean error;
+        private final boolean testExecution;
+        private final boolean performance;
+        private final long performanceThresholdMs;
+        private final boolean browser;
+        private final boolean api;
+        private final boolean structured;
+        private final Properties properties;
+        
+        private LogConfig(Properties properties, String level) {
+            this.properties = properties;
+            this.level = level;
+            this.success = levelEnabled("SUCCESS") && categoryEnabled("success");
+            this.info = levelEnabled("INFO") && categoryEnabled("info");
+            this.warning = levelEnabled("WARNING") && categoryEnabled("warning");
+            this.error = levelEnabled("ERROR") && categoryEnabled("error");
+            this.testExecution = categoryEnabled("test.execution");
+            this.performance = categoryEnabled("performance");
+            this.performanceThresholdMs = parseThreshold(properties.getProperty("logging.performance.threshold.ms", "1000"));
+            this.browser = categoryEnabled("browser");
+            this.api = categoryEnabled("api");
+            this.structured = Boolean.getBoolean("logging.structured")
+                    || Boolean.parseBoolean(properties.getProperty("logging.structured.enabled", "false").trim());
+        }
+        
+        private boolean levelEnabled(String candidate) {
+            return "ALL".equalsIgnoreCase(level) || candidate.equalsIgnoreCase(level);
+        }
+        
+        private static long parseThreshold(String value) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // Runs during class initialisation, so a typo must not take the logger down
+                logger.warn("Invalid logging.performance.threshold.ms '{}', using 1000", value);
+                return 1000;
+            }
+        }
+        
+        private boolean categoryEnabled(String category) {
+            return Boolean.parseBoolean(properties.getProperty("logging." + category + ".enabled", "true").trim());
+        }
+        
+        private LogConfig withLevel(String newLevel) {
+            return new LogConfig(properties, newLevel);
+        }
+    }
+    
     /**
      * Initialize the LogManager with configuration from config.properties
      */
     private static void initializeLogManager() {
-        try {
-            config = new Properties();
-            FileInputStream fis = new FileInputStream("src/main/resources/config.properties");
-            config.load(fis);
-            fis.close();
-            
-            currentLogLevel = config.getProperty("logging.level", "ALL");
-            isInitialized = true;
-            
-            logger.info("LogManager initialized successfully with log level: " + currentLogLevel);
+        Properties properties = new Properties();
+        String level;
+        try (FileInputStream fis = new FileInputStream("src/main/resources/config.properties")) {
+            properties.load(fis);
+            level = properties.getProperty("logging.level", "ALL");
+            logger.info("LogManager initialized successfully with log level: {}", level);
         } catch (IOException e) {
-            errorLogger.error("Failed to load config.properties: " + e.getMessage());
-            currentLogLevel = "ALL"; // Default to ALL if config fails to load
+            errorLogger.error("Failed to load config.properties: {}", e.getMessage());
+            level = "ALL"; // Default to ALL if config fails to load
         }
+        config = new LogConfig(properties, level);
     }
     
     /**
@@ -63,29 +121,10 @@ public class TestLogManager {
     }
     
     /**
-     * Check if a specific log level should be printed based on configuration
+     * Whether JSON events are written to the {@link EventLog}
      */
-    private static boolean shouldLog(String level) {
-        if (!isInitialized) {
-            initializeLogManager();
-        }
-        
-        if ("ALL".equalsIgnoreCase(currentLogLevel)) {
-            return true;
-        }
-        
-        return level.equalsIgnoreCase(currentLogLevel);
-    }
-    
-    /**
-     * Check if a specific log category is enabled
-     */
-    private static boolean isCategoryEnabled(String category) {
-        if (!isInitialized) {
-            initializeLogManager();
-        }
-        
-        return Boolean.parseBoolean(config.getProperty("logging." + category.toLowerCase() + ".enabled", "true"));
+    static boolean structuredEnabled() {
+        return config.structured;
     }
     
     // ===========================================
@@ -96,8 +135,9 @@ public class TestLogManager {
      * Log success message
      */
     public static void success(String message) {
-        if (shouldLog("SUCCESS") && isCategoryEnabled("success")) {
-            successLogger.info("✅ SUCCESS: " + message);
+        if (config.success) {
+            successLogger.info("✅ SUCCESS: {}", message);
+            EventLog.event("success", message);
         }
     }
     
@@ -105,8 +145,21 @@ public class TestLogManager {
      * Log success message with parameters
      */
     public static void success(String message, Object... params) {
-        if (shouldLog("SUCCESS") && isCategoryEnabled("success")) {
-            successLogger.info("✅ SUCCESS: " + String.format(message, params));
+        if (config.success) {
+            String formatted = String.format(message, params);
+            successLogger.info("✅ SUCCESS: {}", formatted);
+            EventLog.event("success", formatted);
+        }
+    }
+    
+    /**
+     * Log success message built only if success logging is enabled
+     */
+    public static void success(Supplier<String> message) {
+        if (config.success) {
+            String built = message.get();
+            successLogger.info("✅ SUCCESS: {}", built);
+            EventLog.event("success", built);
         }
     }
     
@@ -114,8 +167,8 @@ public class TestLogManager {
      * Log test step success
      */
     public static void testStepSuccess(String testStep) {
-        if (shouldLog("SUCCESS") && isCategoryEnabled("success")) {
-            successLogger.info("✅ TEST STEP SUCCESS: " + testStep);
+        if (config.success) {
+            successLogger.info("✅ TEST STEP SUCCESS: {}", testStep);
         }
     }
     
@@ -123,8 +176,8 @@ public class TestLogManager {
      * Log element interaction success
      */
     public static void elementSuccess(String elementName, String action) {
-        if (shouldLog("SUCCESS") && isCategoryEnabled("success")) {
-            successLogger.info("✅ ELEMENT SUCCESS: " + elementName + " - " + action);
+        if (config.success) {
+            successLogger.info("✅ ELEMENT SUCCESS: {} - {}", elementName, action);
         }
     }
     
@@ -136,8 +189,9 @@ public class TestLogManager {
      * Log info message
      */
     public static void info(String message) {
-        if (shouldLog("INFO") && isCategoryEnabled("info")) {
-            infoLogger.info("ℹ️ INFO: " + message);
+        if (config.info) {
+            infoLogger.info("ℹ️ INFO: {}", message);
+            EventLog.event("info", message);
         }
     }
     
@@ -145,8 +199,21 @@ public class TestLogManager {
      * Log info message with parameters
      */
     public static void info(String message, Object... params) {
-        if (shouldLog("INFO") && isCategoryEnabled("info")) {
-            infoLogger.info("ℹ️ INFO: " + String.format(message, params));
+        if (config.info) {
+            String formatted = String.format(message, params);
+            infoLogger.info("ℹ️ INFO: {}", formatted);
+            EventLog.event("info", formatted);
+        }
+    }
+    
+    /**
+     * Log info message built only if info logging is enabled
+     */
+    public static void info(Supplier<String> message) {
+        if (config.info) {
+            String built = message.get();
+            infoLogger.info("ℹ️ INFO: {}", built);
+            EventLog.event("info", built);
         }
     }
     
@@ -154,8 +221,8 @@ public class TestLogManager {
      * Log test execution info
      */
     public static void testInfo(String testName, String info) {
-        if (shouldLog("INFO") && isCategoryEnabled("info")) {
-            infoLogger.info("🧪 TEST INFO: [" + testName + "] " + info);
+        if (config.info) {
+            infoLogger.info("🧪 TEST INFO: [{}] {}", testName, info);
         }
     }
     
@@ -163,8 +230,8 @@ public class TestLogManager {
      * Log page navigation info
      */
     public static void navigationInfo(String fromPage, String toPage) {
-        if (shouldLog("INFO") && isCategoryEnabled("info")) {
-            infoLogger.info("🧭 NAVIGATION: " + fromPage + " → " + toPage);
+        if (config.info) {
+            infoLogger.info("🧭 NAVIGATION: {} → {}", fromPage, toPage);
         }
     }
     
@@ -172,8 +239,8 @@ public class TestLogManager {
      * Log data input info
      */
     public static void dataInfo(String fieldName, String value) {
-        if (shouldLog("INFO") && isCategoryEnabled("info")) {
-            infoLogger.info("📝 DATA INPUT: " + fieldName + " = " + value);
+        if (config.info) {
+            infoLogger.info("📝 DATA INPUT: {} = {}", fieldName, value);
         }
     }
     
@@ -185,8 +252,9 @@ public class TestLogManager {
      * Log warning message
      */
     public static void warning(String message) {
-        if (shouldLog("WARNING") && isCategoryEnabled("warning")) {
-            warningLogger.warn("⚠️ WARNING: " + message);
+        if (config.warning) {
+            warningLogger.warn("⚠️ WARNING: {}", message);
+            EventLog.event("warning", message);
         }
     }
     
@@ -194,8 +262,21 @@ public class TestLogManager {
      * Log warning message with parameters
      */
     public static void warning(String message, Object... params) {
-        if (shouldLog("WARNING") && isCategoryEnabled("warning")) {
-            warningLogger.warn("⚠️ WARNING: " + String.format(message, params));
+        if (config.warning) {
+            String formatted = String.format(message, params);
+            warningLogger.warn("⚠️ WARNING: {}", formatted);
+            EventLog.event("warning", formatted);
+        }
+    }
+    
+    /**
+     * Log warning message built only if warning logging is enabled
+     */
+    public static void warning(Supplier<String> message) {
+        if (config.warning) {
+            String built = message.get();
+            warningLogger.warn("⚠️ WARNING: {}", built);
+            EventLog.event("warning", built);
         }
     }
     
@@ -203,8 +284,8 @@ public class TestLogManager {
      * Log element not found warning
      */
     public static void elementWarning(String elementName, String reason) {
-        if (shouldLog("WARNING") && isCategoryEnabled("warning")) {
-            warningLogger.warn("⚠️ ELEMENT WARNING: " + elementName + " - " + reason);
+        if (config.warning) {
+            warningLogger.warn("⚠️ ELEMENT WARNING: {} - {}", elementName, reason);
         }
     }
     
@@ -212,8 +293,8 @@ public class TestLogManager {
      * Log performance warning
      */
     public static void performanceWarning(String operation, long duration) {
-        if (shouldLog("WARNING") && isCategoryEnabled("warning")) {
-            warningLogger.warn("⚠️ PERFORMANCE WARNING: " + operation + " took " + duration + "ms");
+        if (config.warning) {
+            warningLogger.warn("⚠️ PERFORMANCE WARNING: {} took {}ms", operation, duration);
         }
     }
     
@@ -221,8 +302,8 @@ public class TestLogManager {
      * Log timeout warning
      */
     public static void timeoutWarning(String elementName, int timeout) {
-        if (shouldLog("WARNING") && isCategoryEnabled("warning")) {
-            warningLogger.warn("⚠️ TIMEOUT WARNING: " + elementName + " not found within " + timeout + " seconds");
+        if (config.warning) {
+            warningLogger.warn("⚠️ TIMEOUT WARNING: {} not found within {} seconds", elementName, timeout);
         }
     }
     
@@ -234,8 +315,9 @@ public class TestLogManager {
      * Log error message
      */
     public static void error(String message) {
-        if (shouldLog("ERROR") && isCategoryEnabled("error")) {
-            errorLogger.error("❌ ERROR: " + message);
+        if (config.error) {
+            errorLogger.error("❌ ERROR: {}", message);
+            EventLog.event("error", message);
         }
     }
     
@@ -243,8 +325,10 @@ public class TestLogManager {
      * Log error message with parameters
      */
     public static void error(String message, Object... params) {
-        if (shouldLog("ERROR") && isCategoryEnabled("error")) {
-            errorLogger.error("❌ ERROR: " + String.format(message, params));
+        if (config.error) {
+            String formatted = String.format(message, params);
+            errorLogger.error("❌ ERROR: {}", formatted);
+            EventLog.event("error", formatted);
         }
     }
     
@@ -252,8 +336,20 @@ public class TestLogManager {
      * Log error with exception
      */
     public static void error(String message, Throwable throwable) {
-        if (shouldLog("ERROR") && isCategoryEnabled("error")) {
-            errorLogger.error("❌ ERROR: " + message, throwable);
+        if (config.error) {
+            errorLogger.error("❌ ERROR: {}", message, throwable);
+            EventLog.event("error", message);
+        }
+    }
+    
+    /**
+     * Log error message built only if error logging is enabled
+     */
+    public static void error(Supplier<String> message) {
+        if (config.error) {
+            String built = message.get();
+            errorLogger.error("❌ ERROR: {}", built);
+            EventLog.event("error", built);
         }
     }
     
@@ -261,8 +357,9 @@ public class TestLogManager {
      * Log test failure
      */
     public static void testFailure(String testName, String reason) {
-        if (shouldLog("ERROR") && isCategoryEnabled("error")) {
-            errorLogger.error("❌ TEST FAILURE: [" + testName + "] " + reason);
+        if (config.error) {
+            errorLogger.error("❌ TEST FAILURE: [{}] {}", testName, reason);
+            EventLog.event("test_failure", reason);
         }
     }
     
@@ -270,8 +367,8 @@ public class TestLogManager {
      * Log element interaction error
      */
     public static void elementError(String elementName, String action, String reason) {
-        if (shouldLog("ERROR") && isCategoryEnabled("error")) {
-            errorLogger.error("❌ ELEMENT ERROR: " + elementName + " - " + action + " - " + reason);
+        if (config.error) {
+            errorLogger.error("❌ ELEMENT ERROR: {} - {} - {}", elementName, action, reason);
         }
     }
     
@@ -279,8 +376,8 @@ public class TestLogManager {
      * Log assertion error
      */
     public static void assertionError(String expected, String actual) {
-        if (shouldLog("ERROR") && isCategoryEnabled("error")) {
-            errorLogger.error("❌ ASSERTION ERROR: Expected [" + expected + "] but got [" + actual + "]");
+        if (config.error) {
+            errorLogger.error("❌ ASSERTION ERROR: Expected [{}] but got [{}]", expected, actual);
         }
     }
     
@@ -292,8 +389,8 @@ public class TestLogManager {
      * Log test start
      */
     public static void testStart(String testName) {
-        if (isCategoryEnabled("test.execution")) {
-            testExecutionLogger.info("🚀 TEST STARTED: " + testName);
+        if (config.testExecution) {
+            testExecutionLogger.info("🚀 TEST STARTED: {}", testName);
         }
     }
     
@@ -301,8 +398,8 @@ public class TestLogManager {
      * Log test end
      */
     public static void testEnd(String testName, String status) {
-        if (isCategoryEnabled("test.execution")) {
-            testExecutionLogger.info("🏁 TEST ENDED: " + testName + " - Status: " + status);
+        if (config.testExecution) {
+            testExecutionLogger.info("🏁 TEST ENDED: {} - Status: {}", testName, status);
         }
     }
     
@@ -310,8 +407,9 @@ public class TestLogManager {
      * Log test step
      */
     public static void testStep(String step) {
-        if (isCategoryEnabled("test.execution")) {
-            testExecutionLogger.info("📋 TEST STEP: " + step);
+        if (config.testExecution) {
+            testExecutionLogger.info("📋 TEST STEP: {}", step);
+            EventLog.step(step);
         }
     }
     
@@ -323,12 +421,13 @@ public class TestLogManager {
      * Log performance metric
      */
     public static void performance(String operation, long duration) {
-        if (Boolean.parseBoolean(config.getProperty("logging.performance.enabled", "true"))) {
-            long threshold = Long.parseLong(config.getProperty("logging.performance.threshold.ms", "1000"));
-            if (duration > threshold) {
+        LogConfig current = config;
+        if (current.performance) {
+            EventLog.timed("performance", operation, duration);
+            if (duration > current.performanceThresholdMs) {
                 performanceWarning(operation, duration);
             } else {
-                info("Performance: " + operation + " completed in " + duration + "ms");
+                info(() -> "Performance: " + operation + " completed in " + duration + "ms");
             }
         }
     }
@@ -341,8 +440,8 @@ public class TestLogManager {
      * Log browser action
      */
     public static void browserAction(String action) {
-        if (Boolean.parseBoolean(config.getProperty("logging.browser.enabled", "true"))) {
-            info("🌐 BROWSER: " + action);
+        if (config.browser) {
+            info(() -> "🌐 BROWSER: " + action);
         }
     }
     
@@ -350,8 +449,8 @@ public class TestLogManager {
      * Log page load
      */
     public static void pageLoad(String url) {
-        if (Boolean.parseBoolean(config.getProperty("logging.browser.enabled", "true"))) {
-            info("📄 PAGE LOAD: " + url);
+        if (config.browser) {
+            info(() -> "📄 PAGE LOAD: " + url);
         }
     }
     
@@ -363,8 +462,8 @@ public class TestLogManager {
      * Log API request
      */
     public static void apiRequest(String method, String url) {
-        if (Boolean.parseBoolean(config.getProperty("logging.api.enabled", "true"))) {
-            info("🌍 API REQUEST: " + method + " " + url);
+        if (config.api) {
+            info(() -> "🌍 API REQUEST: " + method + " " + url);
         }
     }
     
@@ -372,8 +471,8 @@ public class TestLogManager {
      * Log API response
      */
     public static void apiResponse(String method, String url, int statusCode) {
-        if (Boolean.parseBoolean(config.getProperty("logging.api.enabled", "true"))) {
-            info("🌍 API RESPONSE: " + method + " " + url + " - Status: " + statusCode);
+        if (config.api) {
+            info(() -> "🌍 API RESPONSE: " + method + " " + url + " - Status: " + statusCode);
         }
     }
     
@@ -385,14 +484,14 @@ public class TestLogManager {
      * Get current log level
      */
     public static String getCurrentLogLevel() {
-        return currentLogLevel;
+        return config.level;
     }
     
     /**
      * Set log level dynamically
      */
     public static void setLogLevel(String level) {
-        currentLogLevel = level;
+        config = config.withLevel(level);
         info("Log level changed to: " + level);
     }
     
@@ -407,9 +506,9 @@ public class TestLogManager {
      * Log separator for better readability
      */
     public static void separator(String title) {
-        if (shouldLog("INFO") && isCategoryEnabled("info")) {
+        if (config.info) {
             infoLogger.info("=".repeat(80));
-            infoLogger.info(" " + title);
+            infoLogger.info(" {}", title);
             infoLogger.info("=".repeat(80));
         }
     }
@@ -0,0 +1,251 @@
+package reporting;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+/**
+ * Routes every log event of a test into that test's own file, keyed on the
+ * {@code correlationId} that {@link EventLog#beginTest(String)} puts in the
+ * log4j ThreadContext.
+ *
+ * The appender is added at suite start to the root logger and to the five
+ * TestLogManager loggers (SUCCESS, INFO, WARNING, ERROR, TestExecution),
+ * next to whatever log4j2.xml configures, so the shared logs keep working.
+ * Those loggers get their own INFO-level config when none exists; the
+ * parent's appenders are re-attached at the parent's level, so console
+ * output does not change. With the async
+ * loggers from log4j2.component.properties it runs on the disruptor thread,
+ * never on a test thread. The end of a test travels through the same queue
+ * as a marker event, so its file is closed only after its last line; it is
+ * then gzipped in the background unless {@code logging.perTest.compress=false}.
+ * {@link #finishTest()} waits up to {@code logging.perTest.finishWaitMs}
+ * (default 2000) for that and returns whichever file exists.
+ * Files go to ExtentReports/TestLogs next to the report.
+ */
+public final class TestLogRouter {
+
+    private static final String LOG_DIR = System.getProperty("user.dir") + "/src/test/resources/ExtentReports/TestLogs/";
+    private static final boolean COMPRESS = Boolean.parseBoolean(System.getProperty("logging.perTest.compress", "true"));
+    private static final long FINISH_WAIT_MS = Long.parseLong(System.getProperty("logging.perTest.finishWaitMs", "2000"));
+    private static final String PATTERN = System.getProperty("logging.perTest.pattern", "%d{HH:mm:ss.SSS} [%t] %-5level %logger - %msg%n%throwable");
+
+    private static final Marker TEST_END = MarkerManager.getMarker("TEST_END");
+    private static final String ROUTER_LOGGER = "TestLogRouter";
+    private static final String[] ROUTED_LOGGERS = { "SUCCESS", "INFO", "WARNING", "ERROR", "TestExecution" };
+
+    // Final log path per correlation ID, completed once the file is closed (and compressed)
+    private static final Map<String, CompletableFuture<String>> finished = new ConcurrentHashMap<>();
+
+    private static volatile boolean installed;
+
+    private TestLogRouter() {
+    }
+
+    /**
+     * Attach the routing appender to the current log4j configuration. Safe to call more than once.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+        Configuration config = ctx.getConfiguration();
+        PatternLayout layout = PatternLayout.newBuilder().withConfiguration(config).withPattern(PATTERN).build();
+
+        RoutingFileAppender appender = new RoutingFileAppender(layout);
+        appender.start();
+        config.addAppender(appender);
+
+        // TestLogManager's loggers inherit the root level (ERROR without a log4j2.xml), which
+        // would keep their INFO lines out of the test files; give them their own config
+        for (String name : ROUTED_LOGGERS) {
+            LoggerConfig loggerConfig = config.getLoggerConfig(name);
+            if (!name.equals(loggerConfig.getName())) {
+                LoggerConfig parent = loggerConfig;
+                loggerConfig = new LoggerConfig(name, Level.INFO, false);
+                for (Appender inherited : parent.getAppenders().values()) {
+                    loggerConfig.addAppender(inherited, parent.getLevel(), null);
+                }
+                config.addLogger(name, loggerConfig);
+            } else if (loggerConfig.isAdditive()) {
+                // An existing additive config already passes its events on to root's appender
+                continue;
+            }
+            loggerConfig.addAppender(appender, Level.ALL, null);
+        }
+        config.getRootLogger().addAppender(appender, Level.ALL, null);
+
+        // End-of-test markers must reach the appender whatever the root level is
+        LoggerConfig routerConfig = new LoggerConfig(ROUTER_LOGGER, Level.ALL, false);
+        routerConfig.addAppender(appender, Level.ALL, null);
+        config.addLogger(ROUTER_LOGGER, routerConfig);
+
+        ctx.updateLoggers();
+        installed = true;
+        TestLogManager.info("Per-test log files: " + LOG_DIR);
+    }
+
+    /**
+     * Close the current test's log file once its queued events are written.
+     * Call on the test thread while the correlation ID is still set.
+     *
+     * @return path of the finished (compressed if that succeeded) log, whichever
+     *         file exists if that is not done in time, or null if there is none
+     */
+    public static String finishTest() {
+        String correlationId = ThreadContext.get("correlationId");
+        if (!installed || correlationId == null) {
+            return null;
+        }
+        String path = logFile(ThreadContext.get("testMethod"), correlationId);
+        CompletableFuture<String> done = finished.computeIfAbsent(correlationId, id -> new CompletableFuture<>());
+        LogManager.getLogger(ROUTER_LOGGER).info(TEST_END, "Test log closed");
+        try {
+            return done.get(FINISH_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return existing(path);
+        } catch (ExecutionException | TimeoutException e) {
+            return existing(path);
+        } finally {
+            finished.remove(correlationId);
+        }
+    }
+
+    private static String existing(String path) {
+        if (Files.exists(Paths.get(path + ".gz"))) {
+            return path + ".gz";
+        }
+        return Files.exists(Paths.get(path)) ? path : null;
+    }
+
+    private static void complete(String correlationId, String path) {
+        CompletableFuture<String> done = finished.get(correlationId);
+        if (done != null) {
+            done.complete(path);
+        }
+    }
+
+    private static String logFile(String testMethod, String correlationId) {
+        String name = testMethod == null ? "test" : testMethod.replaceAll("[^A-Za-z0-9_.-]", "_");
+        return LOG_DIR + name + "_" + correlationId + ".log";
+    }
+
+    /**
+     * Appends each event to the file of the test it belongs to; events
+     * without a correlation ID (suite setup, background threads) are ignored.
+     */
+    private static final class RoutingFileAppender extends AbstractAppender {
+
+        private final Map<String, OutputStream> files = new ConcurrentHashMap<>();
+        private final ExecutorService compressor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "test-log-compressor");
+            t.setDaemon(true);
+            return t;
+        });
+
+        RoutingFileAppender(PatternLayout layout) {
+            super("PerTestFile", null, layout, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            String correlationId = event.getContextData().getValue("correlationId");
+            if (correlationId == null) {
+                return;
+            }
+            String testMethod = event.getContextData().getValue("testMethod");
+            try {
+                OutputStream out = files.computeIfAbsent(correlationId, id -> open(logFile(testMethod, id)));
+                if (out == null) {
+                    return;
+                }
+                synchronized (out) {
+                    out.write(getLayout().toByteArray(event));
+                }
+                if (TEST_END.equals(event.getMarker())) {
+                    files.remove(correlationId);
+                    synchronized (out) {
+                        out.close();
+                    }
+                    String path = logFile(testMethod, correlationId);
+                    if (COMPRESS) {
+                        compressor.execute(() -> complete(correlationId, gzip(Paths.get(path)) ? path + ".gz" : path));
+                    } else {
+                        complete(correlationId, path);
+                    }
+                }
+            } catch (IOException e) {
+                error("Failed to write per-test log for " + correlationId, event, e);
+            }
+        }
+
+        private OutputStream open(String path) {
+            try {
+                Files.createDirectories(Paths.get(LOG_DIR));
+                return new BufferedOutputStream(Files.newOutputStream(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.APPEND), 16 * 1024);
+            } catch (IOException e) {
+                error("Failed to open per-test log " + path, null, e);
+                return null;
+            }
+        }
+
+        private static boolean gzip(Path file) {
+            Path target = Paths.get(file + ".gz");
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+                in.transferTo(out);
+            } catch (IOException e) {
+                // keep the plain file rather than lose the log
+                new File(target.toString()).delete();
+                return false;
+            }
+            new File(file.toString()).delete();
+            return true;
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            for (OutputStream out : files.values()) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // shutting down
+                }
+            }
+            files.clear();
+            compressor.shutdown();
+        }
+    }
+}
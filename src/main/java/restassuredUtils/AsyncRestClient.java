@@ -0,0 +1,223 @@
+package restassuredUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import reporting.TestLogManager;
+
+/**
+ * Non-blocking REST client for fanning out many API calls at once.
+ *
+ * Every instance carries its own base URI and default headers, so parallel
+ * threads never share mutable RestAssured globals. All instances share one
+ * Apache httpclient5 async client with a pooled keep-alive connection
+ * manager; responses are converted to RestAssured {@link Response} objects so
+ * existing assertions keep working. Pool sizing:
+ * <ul>
+ * <li>api.async.maxConnections - total pooled connections (default 200)</li>
+ * <li>api.async.maxPerRoute    - connections per host (default 100)</li>
+ * <li>api.async.timeoutSec     - connect/response timeout (default 30)</li>
+ * </ul>
+ *
+ * Callbacks run on I/O threads that have no Extent test attached, so only
+ * log4j logging happens here; report from the calling thread after joining.
+ */
+public class AsyncRestClient {
+
+    private static final int MAX_CONNECTIONS = Integer.parseInt(System.getProperty("api.async.maxConnections", "200"));
+    private static final int MAX_PER_ROUTE = Integer.parseInt(System.getProperty("api.async.maxPerRoute", "100"));
+    private static final long TIMEOUT_SEC = Long.parseLong(System.getProperty("api.async.timeoutSec", "30"));
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static volatile CloseableHttpAsyncClient sharedClient;
+
+    private final String baseUri;
+    private final Map<String, String> defaultHeaders = new LinkedHashMap<>();
+
+    public AsyncRestClient(String baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Header sent with every request from this client.
+     */
+    public AsyncRestClient header(String name, String value) {
+        defaultHeaders.put(name, value);
+        return this;
+    }
+
+    public CompletableFuture<Response> get(String endpoint) {
+        return send("GET", endpoint, null, null, null);
+    }
+
+    public CompletableFuture<Response> get(String endpoint, Map<String, ?> queryParams) {
+        return send("GET", endpoint, null, queryParams, null);
+    }
+
+    public CompletableFuture<Response> post(String endpoint, Object body) {
+        return send("POST", endpoint, null, null, body);
+    }
+
+    public CompletableFuture<Response> put(String endpoint, Object body) {
+        return send("PUT", endpoint, null, null, body);
+    }
+
+    public CompletableFuture<Response> delete(String endpoint) {
+        return send("DELETE", endpoint, null, null, null);
+    }
+
+    /**
+     * Send a request without blocking.
+     *
+     * @param body String bodies are sent as-is, anything else is serialised to JSON
+     */
+    public CompletableFuture<Response> send(String method, String endpoint, Map<String, String> headers,
+                                            Map<String, ?> queryParams, Object body) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        SimpleHttpRequest request;
+        try {
+            request = buildRequest(method, endpoint, headers, queryParams, body);
+        } catch (JsonProcessingException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        client().execute(SimpleRequestProducer.create(request), SimpleResponseConsumer.create(), new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse result) {
+                future.complete(toResponse(result));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                TestLogManager.error("Async " + method + " " + request.getRequestUri() + " failed", e);
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Wait for all futures and return their responses in submission order.
+     */
+    public static List<Response> awaitAll(List<CompletableFuture<Response>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        List<Response> responses = new ArrayList<>(futures.size());
+        for (CompletableFuture<Response> future : futures) {
+            responses.add(future.join());
+        }
+        return responses;
+    }
+
+    /**
+     * Close the shared client and its pooled connections.
+     */
+    public static synchronized void shutdown() {
+        if (sharedClient != null) {
+            sharedClient.close(CloseMode.GRACEFUL);
+            sharedClient = null;
+        }
+    }
+
+    private SimpleHttpRequest buildRequest(String method, String endpoint, Map<String, String> headers,
+                                           Map<String, ?> queryParams, Object body) throws JsonProcessingException {
+        SimpleRequestBuilder builder = SimpleRequestBuilder.create(method).setUri(resolve(endpoint));
+        defaultHeaders.forEach(builder::addHeader);
+        if (headers != null) {
+            headers.forEach(builder::addHeader);
+        }
+        if (queryParams != null) {
+            queryParams.forEach((name, value) -> builder.addParameter(name, String.valueOf(value)));
+        }
+        if (body != null) {
+            String payload = body instanceof String ? (String) body : mapper.writeValueAsString(body);
+            builder.setBody(payload, ContentType.APPLICATION_JSON);
+        }
+        return builder.build();
+    }
+
+    private String resolve(String endpoint) {
+        if (baseUri == null || endpoint.startsWith("http://") || endpoint.startsWith("https://")) {
+            return endpoint;
+        }
+        boolean baseSlash = baseUri.endsWith("/");
+        boolean endpointSlash = endpoint.startsWith("/");
+        if (baseSlash && endpointSlash) {
+            return baseUri + endpoint.substring(1);
+        }
+        return baseSlash || endpointSlash || endpoint.isEmpty() ? baseUri + endpoint : baseUri + "/" + endpoint;
+    }
+
+    private static Response toResponse(SimpleHttpResponse result) {
+        List<Header> headers = new ArrayList<>();
+        for (org.apache.hc.core5.http.Header header : result.getHeaders()) {
+            headers.add(new Header(header.getName(), header.getValue()));
+        }
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(result.getCode())
+                .setStatusLine(result.getVersion() + " " + result.getCode() + " " + result.getReasonPhrase())
+                .setHeaders(new Headers(headers));
+        if (result.getContentType() != null) {
+            builder.setContentType(result.getContentType().toString());
+        }
+        byte[] body = result.getBodyBytes();
+        builder.setBody(body == null ? new byte[0] : body);
+        return builder.build();
+    }
+
+    // Double-checked so sends only lock while the client is being created
+    private static CloseableHttpAsyncClient client() {
+        CloseableHttpAsyncClient client = sharedClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (AsyncRestClient.class) {
+            if (sharedClient == null) {
+                PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(MAX_CONNECTIONS)
+                        .setMaxConnPerRoute(MAX_PER_ROUTE)
+                        .build();
+                client = HttpAsyncClients.custom()
+                        .setConnectionManager(connectionManager)
+                        .setDefaultRequestConfig(RequestConfig.custom()
+                                .setConnectionRequestTimeout(Timeout.ofSeconds(TIMEOUT_SEC))
+                                .setResponseTimeout(Timeout.ofSeconds(TIMEOUT_SEC))
+                                .build())
+                        .build();
+                client.start();
+                sharedClient = client;
+            }
+            return sharedClient;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package restassuredUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reporting.ExtentManager;
+import reporting.TestLogManager;
+
+/**
+ * Assertions on a JSON document evaluated in a single pass of Jackson's
+ * streaming parser, for responses too large to parse into a tree.
+ *
+ * Paths are JSON pointers ({@code /items/0/id}); a {@code *} segment matches
+ * every field or array index at that level ({@code /items/*}/status). Only the
+ * matched values are materialised, one at a time, so memory is bounded by
+ * the largest matched element rather than the whole payload.
+ *
+ * <pre>
+ * RestAssuredUtil.assertJsonStream()
+ *     .isEqual("/meta/total", 5000)
+ *     .count("/items", n -&gt; n == 5000)
+ *     .each("/items", item -&gt; item.hasNonNull("id"), "every item has an id")
+ *     .verify();
+ * </pre>
+ */
+public class JsonStreamAssert {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int MAX_SAMPLES = 5;
+
+    private final InputStream source;
+    private final List<Check> checks = new ArrayList<>();
+
+    public JsonStreamAssert(InputStream source) {
+        this.source = source;
+    }
+
+    /**
+     * Every value at the path equals the expected value; the path must exist.
+     */
+    public JsonStreamAssert isEqual(String pointer, Object expected) {
+        JsonNode expectedNode = mapper.valueToTree(expected);
+        return matches(pointer, node -> Objects.equals(node, expectedNode) || node.isNumber() && expectedNode.isNumber()
+                && node.decimalValue().compareTo(expectedNode.decimalValue()) == 0, "equals " + expectedNode);
+    }
+
+    /**
+     * Every value at the path satisfies the predicate; the path must exist.
+     */
+    public JsonStreamAssert matches(String pointer, Predicate<JsonNode> predicate, String description) {
+        checks.add(new Check(pointer, description, predicate, null, true));
+        return this;
+    }
+
+    /**
+     * At least one value exists at the path.
+     */
+    public JsonStreamAssert exists(String pointer) {
+        checks.add(new Check(pointer, "exists", null, null, true));
+        return this;
+    }
+
+    /**
+     * The number of elements of the array (or fields of the object) at the
+     * path satisfies the predicate.
+     */
+    public JsonStreamAssert count(String pointer, LongPredicate expected) {
+        checks.add(new Check(child(pointer), "count", null, expected, false));
+        return this;
+    }
+
+    public JsonStreamAssert count(String pointer, long expected) {
+        return count(pointer, n -> n == expected);
+    }
+
+    /**
+     * Every element of the array at the path satisfies the predicate.
+     */
+    public JsonStreamAssert each(String pointer, Predicate<JsonNode> predicate, String description) {
+        checks.add(new Check(child(pointer), description, predicate, null, false));
+        return this;
+    }
+
+    /**
+     * Run all checks in one pass, report each to the current test and throw
+     * if any failed.
+     */
+    public void verify() {
+        try (InputStream in = source; JsonParser parser = mapper.getFactory().createParser(in)) {
+            scan(parser);
+        } catch (IOException e) {
+            TestLogManager.error("Failed to parse JSON stream", e);
+            ExtentManager.failTest("Failed to parse JSON stream -> " + e.getMessage());
+            throw new RuntimeException("Failed to parse JSON stream", e);
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (Check check : checks) {
+            String outcome = check.outcome();
+            if (outcome == null) {
+                TestLogManager.success("JSON " + check);
+                ExtentManager.passTest("JSON " + check);
+            } else {
+                failures.add(check + ": " + outcome);
+                TestLogManager.warning("JSON " + check + " failed: " + outcome);
+                ExtentManager.failTest("JSON " + check + " failed: " + outcome);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Streaming JSON assertions failed:\n" + String.join("\n", failures));
+        }
+    }
+
+    private void scan(JsonParser parser) throws IOException {
+        // path[0..depth) holds the segments of the value being read; indexes[d] counts array elements at depth d
+        List<String> path = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<Boolean> isArray = new ArrayList<>();
+        String fieldName = null;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME) {
+                fieldName = parser.currentName();
+                continue;
+            }
+            if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                int last = isArray.size() - 1;
+                isArray.remove(last);
+                indexes.remove(last);
+                if (!path.isEmpty()) {
+                    path.remove(path.size() - 1);
+                }
+                continue;
+            }
+
+            // Start of a value: work out its segment relative to the enclosing container
+            int depth = isArray.size();
+            if (depth > 0) {
+                String segment;
+                if (isArray.get(depth - 1)) {
+                    int index = indexes.get(depth - 1) + 1;
+                    indexes.set(depth - 1, index);
+                    segment = Integer.toString(index);
+                } else {
+                    segment = fieldName;
+                }
+                path.add(segment);
+            }
+
+            boolean needsValue = false;
+            boolean descend = false;
+            for (Check check : checks) {
+                if (check.matches(path)) {
+                    check.matched++;
+                    needsValue |= check.predicate != null;
+                } else if (check.isUnder(path)) {
+                    descend = true;
+                }
+            }
+
+            boolean container = token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+            if (needsValue) {
+                // readTree consumes the whole value, leaving the parser on its last token
+                JsonNode node = mapper.readTree(parser);
+                for (Check check : checks) {
+                    if (check.predicate != null && check.matches(path)) {
+                        check.test(path, node);
+                    }
+                }
+                if (descend) {
+                    // Deeper checks under a value that was already read: finish them on the tree
+                    visitChildren(path, node);
+                }
+                container = false;
+            } else if (container && !descend) {
+                parser.skipChildren();
+                container = false;
+            }
+
+            if (container) {
+                isArray.add(token == JsonToken.START_ARRAY);
+                indexes.add(-1);
+            } else if (!path.isEmpty()) {
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private void visitChildren(List<String> path, JsonNode node) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                visit(path, field.getKey(), field.getValue());
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                visit(path, Integer.toString(i), node.get(i));
+            }
+        }
+    }
+
+    private void visit(List<String> path, String segment, JsonNode node) {
+        path.add(segment);
+        boolean descend = false;
+        for (Check check : checks) {
+            if (check.matches(path)) {
+                check.matched++;
+                if (check.predicate != null) {
+                    check.test(path, node);
+                }
+            } else if (check.isUnder(path)) {
+                descend = true;
+            }
+        }
+        if (descend && node.isContainerNode()) {
+            visitChildren(path, node);
+        }
+        path.remove(path.size() - 1);
+    }
+
+    private static String child(String pointer) {
+        return pointer.endsWith("/") ? pointer + "*" : pointer + "/*";
+    }
+
+    private static final class Check {
+        private final String pointer;
+        private final String[] segments;
+        private final String description;
+        private final Predicate<JsonNode> predicate;
+        private final LongPredicate countPredicate;
+        private final boolean requireMatch;
+
+        private long matched;
+        private long failed;
+        private final List<String> samples = new ArrayList<>();
+
+        Check(String pointer, String description, Predicate<JsonNode> predicate, LongPredicate countPredicate, boolean requireMatch) {
+            this.pointer = pointer;
+            this.segments = parse(pointer);
+            this.description = description;
+            this.predicate = predicate;
+            this.countPredicate = countPredicate;
+            this.requireMatch = requireMatch;
+        }
+
+        boolean matches(List<String> path) {
+            return path.size() == segments.length && prefixMatches(path, segments.length);
+        }
+
+        boolean isUnder(List<String> path) {
+            return path.size() < segments.length && prefixMatches(path, path.size());
+        }
+
+        private boolean prefixMatches(List<String> path, int length) {
+            for (int i = 0; i < length; i++) {
+                if (!segments[i].equals("*") && !segments[i].equals(path.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void test(List<String> path, JsonNode node) {
+            if (!predicate.test(node)) {
+                failed++;
+                if (samples.size() < MAX_SAMPLES) {
+                    String value = node.toString();
+                    samples.add("/" + String.join("/", path) + " = " + (value.length() > 200 ? value.substring(0, 200) + "..." : value));
+                }
+            }
+        }
+
+        /**
+         * Null when the check passed, otherwise the reason it failed.
+         */
+        String outcome() {
+            if (countPredicate != null) {
+                return countPredicate.test(matched) ? null : "actual count " + matched;
+            }
+            if (requireMatch && matched == 0) {
+                return "no value at path";
+            }
+            return failed == 0 ? null : failed + " of " + matched + " values did not match " + samples;
+        }
+
+        @Override
+        public String toString() {
+            String path = countPredicate != null ? pointer.substring(0, pointer.length() - 2) : pointer;
+            return (path.isEmpty() ? "/" : path) + " " + description;
+        }
+
+        // RFC 6901: "~1" is "/", "~0" is "~"
+        private static String[] parse(String pointer) {
+            if (pointer.isEmpty() || pointer.equals("/")) {
+                return new String[0];
+            }
+            String[] parts = (pointer.startsWith("/") ? pointer.substring(1) : pointer).split("/", -1);
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = parts[i].replace("~1", "/").replace("~0", "~");
+            }
+            return parts;
+        }
+    }
+}
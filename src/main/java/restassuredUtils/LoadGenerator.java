@@ -0,0 +1,229 @@
+package restassuredUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.restassured.RestAssured;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import reporting.ExtentManager;
+import reporting.TestLogManager;
+
+/**
+ * Runs one request description under load on virtual threads.
+ *
+ * The template is usually {@link RestAssuredUtil#requestTemplate()} after
+ * building a request with initRequest/addHeaders/addBody; every call merges
+ * it into a fresh spec, so the template itself is never shared mutably.
+ * Two models are supported:
+ * <ul>
+ * <li>{@link #rps(int)} - open model, requests start at a fixed rate whatever
+ * the latency (bounded by {@link #maxInFlight(int)})</li>
+ * <li>{@link #concurrency(int)} - closed model, N users each send the next
+ * request as soon as the previous one returns</li>
+ * </ul>
+ * Latency goes into a {@link LatencyHistogram}; {@link LoadResult#report()}
+ * writes the summary table to the current Extent test.
+ */
+public class LoadGenerator {
+
+    private final String name;
+    private final RequestSpecification template;
+    private final Method method;
+    private final String endpoint;
+
+    private int rps;
+    private int concurrency = 1;
+    private int maxInFlight = 1000;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmUp = Duration.ZERO;
+
+    public LoadGenerator(String name, RequestSpecification template, Method method, String endpoint) {
+        this.name = name;
+        this.template = template;
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    public LoadGenerator rps(int requestsPerSecond) {
+        this.rps = requestsPerSecond;
+        return this;
+    }
+
+    public LoadGenerator concurrency(int users) {
+        this.concurrency = users;
+        this.rps = 0;
+        return this;
+    }
+
+    public LoadGenerator maxInFlight(int requests) {
+        this.maxInFlight = requests;
+        return this;
+    }
+
+    public LoadGenerator duration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Requests sent during the warm-up are not recorded.
+     */
+    public LoadGenerator warmUp(Duration warmUp) {
+        this.warmUp = warmUp;
+        return this;
+    }
+
+    public LoadResult run() {
+        LoadResult result = new LoadResult(name, method + " " + endpoint);
+        TestLogManager.info("Load run '" + name + "' started: " + (rps > 0 ? rps + " rps" : concurrency + " users")
+                + " for " + duration.toSeconds() + "s (+" + warmUp.toSeconds() + "s warm-up)");
+
+        long start = System.nanoTime();
+        long recordFrom = start + warmUp.toNanos();
+        long end = recordFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (rps > 0) {
+                runOpen(executor, result, recordFrom, end);
+            } else {
+                for (int i = 0; i < concurrency; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            send(result, recordFrom);
+                        }
+                    });
+                }
+            }
+        } // close() waits for in-flight requests
+
+        result.elapsedNanos = System.nanoTime() - recordFrom;
+        TestLogManager.info(result.toString());
+        return result;
+    }
+
+    private void runOpen(ExecutorService executor, LoadResult result, long recordFrom, long end) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                // Target rate not reachable without exceeding maxInFlight; count it instead of queueing
+                if (next >= recordFrom) {
+                    result.dropped.increment();
+                }
+            } else {
+                executor.submit(() -> {
+                    try {
+                        send(result, recordFrom);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            next += interval;
+        }
+    }
+
+    private void send(LoadResult result, long recordFrom) {
+        long begin = System.nanoTime();
+        boolean ok;
+        try {
+            Response response = RestAssured.given().spec(template).request(method, endpoint);
+            ok = response.getStatusCode() < 400;
+        } catch (RuntimeException e) {
+            ok = false;
+        }
+        if (begin >= recordFrom) {
+            result.latency.recordMicros((System.nanoTime() - begin) / 1000);
+            (ok ? result.succeeded : result.failed).increment();
+        }
+    }
+
+    /**
+     * Outcome of one load run.
+     */
+    public static class LoadResult {
+        private final String name;
+        private final String request;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private long elapsedNanos;
+
+        LoadResult(String name, String request) {
+            this.name = name;
+            this.request = request;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getSucceeded() {
+            return succeeded.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : latency.getCount() * 1e9 / elapsedNanos;
+        }
+
+        public double getErrorRate() {
+            long total = latency.getCount();
+            return total == 0 ? 0 : failed.sum() * 100.0 / total;
+        }
+
+        /**
+         * Percentile latency in milliseconds.
+         */
+        public double percentileMs(double percentile) {
+            return latency.getPercentileMicros(percentile) / 1000.0;
+        }
+
+        /**
+         * Add the summary table to the current test's Extent report. Call from the test thread.
+         */
+        public LoadResult report() {
+            Map<String, String> rows = new LinkedHashMap<>();
+            rows.put("Load run", name + " (" + request + ")");
+            rows.put("Requests", latency.getCount() + " (" + succeeded.sum() + " ok, " + failed.sum() + " failed, " + dropped.sum() + " dropped)");
+            rows.put("Throughput", String.format("%.1f req/s", getThroughput()));
+            rows.put("Error rate", String.format("%.2f%%", getErrorRate()));
+            rows.put("Mean", String.format("%.1f ms", latency.getMeanMicros() / 1000.0));
+            rows.put("p50", String.format("%.1f ms", percentileMs(50)));
+            rows.put("p95", String.format("%.1f ms", percentileMs(95)));
+            rows.put("p99", String.format("%.1f ms", percentileMs(99)));
+            rows.put("Max", String.format("%.1f ms", latency.getMaxMicros() / 1000.0));
+            ExtentManager.customReport(rows);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Load run '%s': %d requests, %.1f req/s, errors %.2f%%, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    name, latency.getCount(), getThroughput(), getErrorRate(),
+                    percentileMs(50), percentileMs(95), percentileMs(99), latency.getMaxMicros() / 1000.0);
+        }
+    }
+}
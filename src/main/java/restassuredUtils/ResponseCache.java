@@ -0,0 +1,282 @@
+package restassuredUtils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import reporting.TestLogManager;
+
+/**
+ * Per-run cache of GET responses shared by all threads, installed as a
+ * RestAssured filter.
+ *
+ * Entries are keyed by URL (including query string) and the values of the
+ * headers in {@code api.cache.varyHeaders}. Freshness follows the response's
+ * Cache-Control: s-maxage or max-age set the lifetime, no-cache stores the
+ * entry but revalidates it on every use, and no-store or private responses
+ * are not stored; without those {@code api.cache.ttlMs} applies. A fresh entry
+ * is served without a network call; a stale one that carried an ETag or
+ * Last-Modified is revalidated with a conditional request and served again
+ * on 304. Any other method than GET, HEAD, OPTIONS or TRACE evicts the
+ * entries for its URL and for the collection above it, whatever the query
+ * string. The least recently used entries are evicted once
+ * bodies exceed {@code api.cache.maxMb}. Caching is off unless
+ * {@code api.cache.enabled=true} or a request opts in through
+ * {@link RestAssuredUtil#useCache()}.
+ */
+public final class ResponseCache implements Filter {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("api.cache.enabled", "false"));
+    private static final long TTL_MS = Long.parseLong(System.getProperty("api.cache.ttlMs", "300000"));
+    private static final long MAX_BYTES = Long.parseLong(System.getProperty("api.cache.maxMb", "64")) * 1024 * 1024;
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*\"?(\\d{1,12})");
+    private static final List<String> VARY_HEADERS = Arrays.stream(System.getProperty("api.cache.varyHeaders", "Accept,Authorization").split(","))
+            .map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+
+    static final ResponseCache INSTANCE = new ResponseCache();
+
+    // access-ordered for LRU eviction; guarded by this
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ResponseCache() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String method = requestSpec.getMethod().toUpperCase(Locale.ROOT);
+        if (!SAFE_METHODS.contains(method)) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            invalidate(requestSpec.getURI());
+            return response;
+        }
+        if (!"GET".equals(method)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = key(requestSpec);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null && entry.isFresh()) {
+            hits.increment();
+            return entry.toResponse();
+        }
+
+        if (entry != null) {
+            if (entry.etag != null) {
+                requestSpec.header("If-None-Match", entry.etag);
+            }
+            if (entry.lastModified != null) {
+                requestSpec.header("If-Modified-Since", entry.lastModified);
+            }
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (entry != null && response.getStatusCode() == 304) {
+            revalidated.increment();
+            // A 304 may carry updated Cache-Control; without one the stored lifetime stays
+            if (response.getHeader("Cache-Control") != null) {
+                entry.freshForMs = freshnessLifetime(response);
+            }
+            entry.storedAt = System.currentTimeMillis();
+            return entry.toResponse();
+        }
+
+        misses.increment();
+        long lifetime = freshnessLifetime(response);
+        if (response.getStatusCode() == 200 && lifetime >= 0) {
+            put(key, new Entry(requestSpec.getURI(), response, lifetime));
+        } else if (entry != null) {
+            remove(key);
+        }
+        return response;
+    }
+
+    /**
+     * Hit/miss counts since the start of the run.
+     */
+    public static String stats() {
+        ResponseCache cache = INSTANCE;
+        long hit = cache.hits.sum();
+        long reval = cache.revalidated.sum();
+        long miss = cache.misses.sum();
+        long total = hit + reval + miss;
+        synchronized (cache) {
+            return String.format("API cache: %d requests, %d hits, %d revalidated (304), %d misses, hit rate %.1f%%, %d entries, %d KB, %d evictions",
+                    total, hit, reval, miss, total == 0 ? 0.0 : (hit + reval) * 100.0 / total,
+                    cache.entries.size(), cache.totalBytes / 1024, cache.evictions.sum());
+        }
+    }
+
+    /**
+     * Log {@link #stats()} if the cache saw any traffic.
+     */
+    public static void logStats() {
+        if (INSTANCE.hits.sum() + INSTANCE.revalidated.sum() + INSTANCE.misses.sum() > 0) {
+            TestLogManager.info(stats());
+        }
+    }
+
+    public static void clear() {
+        synchronized (INSTANCE) {
+            INSTANCE.entries.clear();
+            INSTANCE.totalBytes = 0;
+        }
+    }
+
+    private static String key(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder(requestSpec.getURI());
+        Headers headers = requestSpec.getHeaders();
+        for (String name : VARY_HEADERS) {
+            key.append('\n').append(name).append('=').append(headers.getValue(name));
+        }
+        return key.toString();
+    }
+
+    /**
+     * How long the response stays fresh in ms, 0 to revalidate on every use,
+     * or -1 if this shared cache must not store it.
+     */
+    private static long freshnessLifetime(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl == null) {
+            return TTL_MS;
+        }
+        String directives = cacheControl.toLowerCase(Locale.ROOT);
+        if (directives.contains("no-store") || directives.contains("private")) {
+            return -1;
+        }
+        if (directives.contains("no-cache")) {
+            return 0;
+        }
+        // s-maxage is meant for shared caches and wins over max-age
+        long maxAge = -1;
+        Matcher matcher = MAX_AGE.matcher(directives);
+        while (matcher.find()) {
+            long seconds = Long.parseLong(matcher.group(2));
+            if ("s-maxage".equals(matcher.group(1)) || maxAge < 0) {
+                maxAge = seconds;
+            }
+            if ("s-maxage".equals(matcher.group(1))) {
+                break;
+            }
+        }
+        return maxAge >= 0 ? maxAge * 1000 : TTL_MS;
+    }
+
+    /**
+     * Evict every entry for the URI or its parent collection, ignoring query strings.
+     */
+    private synchronized void invalidate(String uri) {
+        String target = withoutQuery(uri);
+        int slash = target.lastIndexOf('/');
+        String collection = slash > target.indexOf("//") + 1 ? target.substring(0, slash) : null;
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> cached = it.next();
+            String cachedUri = withoutQuery(cached.getValue().uri);
+            if (cachedUri.equals(target) || cachedUri.equals(collection)) {
+                totalBytes -= cached.getValue().body.length;
+                it.remove();
+            }
+        }
+    }
+
+    private static String withoutQuery(String uri) {
+        int query = uri.indexOf('?');
+        String path = query < 0 ? uri : uri.substring(0, query);
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        if (entry.body.length > MAX_BYTES) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.body.length;
+        }
+        totalBytes += entry.body.length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > MAX_BYTES && eldest.hasNext()) {
+            totalBytes -= eldest.next().body.length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body.length;
+        }
+    }
+
+    private static final class Entry {
+        private final String uri;
+        private final int statusCode;
+        private final String statusLine;
+        private final Headers headers;
+        private final String contentType;
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private volatile long storedAt = System.currentTimeMillis();
+        private volatile long freshForMs;
+
+        Entry(String uri, Response response, long freshForMs) {
+            this.uri = uri;
+            this.freshForMs = freshForMs;
+            statusCode = response.getStatusCode();
+            statusLine = response.getStatusLine();
+            headers = response.getHeaders();
+            contentType = response.getContentType();
+            body = response.asByteArray();
+            etag = response.getHeader("ETag");
+            lastModified = response.getHeader("Last-Modified");
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - storedAt < freshForMs;
+        }
+
+        // A new Response per hit so callers never share extraction state
+        Response toResponse() {
+            ResponseBuilder builder = new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setBody(body);
+            if (contentType != null && !contentType.isEmpty()) {
+                builder.setContentType(contentType);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package restassuredUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import reporting.ExtentManager;
+import reporting.TestLogManager;
+
+/**
+ * Bounded logging of API responses for {@link RestAssuredUtil}.
+ *
+ * The status line is always logged; how much of the body follows depends on
+ * {@code api.log.mode}:
+ * <ul>
+ * <li>truncate - first {@code api.log.maxKb} KB inline (default)</li>
+ * <li>full     - whole body inline, the old behaviour</li>
+ * <li>failure  - body only for status &gt;= 400</li>
+ * <li>sample   - body for every {@code api.log.sampleEvery}-th response and all failures</li>
+ * <li>none     - status line only</li>
+ * </ul>
+ * Bodies cut short inline are written in full to ExtentReports/ApiResponses
+ * and linked from the report. Headers listed in {@code api.log.redactHeaders}
+ * and JSON fields listed in {@code api.log.redactFields} are masked in both
+ * places.
+ */
+public final class ResponseLogger {
+
+    enum Mode { TRUNCATE, FULL, FAILURE, SAMPLE, NONE }
+
+    private static final Mode MODE = parseMode(System.getProperty("api.log.mode", "truncate"));
+    private static final int MAX_BYTES = Integer.parseInt(System.getProperty("api.log.maxKb", "8")) * 1024;
+    private static final int SAMPLE_EVERY = Math.max(1, Integer.parseInt(System.getProperty("api.log.sampleEvery", "10")));
+    private static final Set<String> REDACT_HEADERS = csvSet(System.getProperty("api.log.redactHeaders", "Authorization,Cookie,Set-Cookie,Proxy-Authorization"));
+    private static final Set<String> REDACT_FIELDS = csvSet(System.getProperty("api.log.redactFields", "password,token,access_token,refresh_token,secret"));
+    private static final String MASK = "***";
+
+    private static final String RESPONSE_DIR = System.getProperty("user.dir") + "/src/test/resources/ExtentReports/ApiResponses/";
+    private static final String FIELD_NAMES = REDACT_FIELDS.stream().map(Pattern::quote).collect(Collectors.joining("|"));
+    private static final Pattern FIELD_PATTERN = REDACT_FIELDS.isEmpty() ? null : Pattern.compile(
+            "(\"(?i:" + FIELD_NAMES + ")\"\\s*:\\s*)(\"(?:[^\"\\\\]|\\\\.)*\"|[^,}\\]\\s]+)");
+    // A redacted field whose string value runs past the end of a truncated excerpt
+    private static final Pattern CUT_FIELD_PATTERN = REDACT_FIELDS.isEmpty() ? null : Pattern.compile(
+            "(\"(?i:" + FIELD_NAMES + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\\\\?\\z");
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final AtomicLong responseCounter = new AtomicLong();
+
+    private ResponseLogger() {
+    }
+
+    /**
+     * Log the response on the calling thread according to the configured policy.
+     */
+    public static void log(String method, String endpoint, Response res) {
+        long seq = responseCounter.incrementAndGet();
+        boolean failed = res.getStatusCode() >= 400;
+        StringBuilder message = new StringBuilder(256)
+                .append(method).append(' ').append(endpoint)
+                .append(" | Status: ").append(res.getStatusCode())
+                .append(" | Time: ").append(res.getTime()).append(" ms");
+
+        String link = null;
+        if (logsBody(seq, failed)) {
+            message.append(" | Headers: ").append(headers(res));
+            byte[] body = res.asByteArray();
+            if (MODE != Mode.FULL && body.length > MAX_BYTES) {
+                message.append(" | Response (first ").append(MAX_BYTES / 1024).append(" of ")
+                        .append(body.length / 1024).append(" KB): ")
+                        .append(redact(excerpt(body))).append("...");
+                link = writeSideFile(method, seq, res.getContentType(), body);
+            } else {
+                message.append(" | Response: ").append(redact(new String(body, StandardCharsets.UTF_8)));
+            }
+        }
+
+        TestLogManager.info(message.toString());
+        ExtentManager.getTest().info(message.toString());
+        if (link != null) {
+            TestLogManager.info("Full response body written to " + link);
+            ExtentManager.getTest().info("<a href='" + ExtentManager.reportLink(link) + "' target='_blank'>Full response body</a>");
+        }
+    }
+
+    private static boolean logsBody(long seq, boolean failed) {
+        return switch (MODE) {
+            case FULL, TRUNCATE -> true;
+            case FAILURE -> failed;
+            case SAMPLE -> failed || seq % SAMPLE_EVERY == 0;
+            case NONE -> false;
+        };
+    }
+
+    private static String headers(Response res) {
+        StringBuilder sb = new StringBuilder("{");
+        for (Header header : res.getHeaders()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(header.getName()).append('=')
+                    .append(REDACT_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT)) ? MASK : header.getValue());
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * The first MAX_BYTES of the body, cut back to a character boundary, with
+     * a redacted field whose value was cut off masked as well.
+     */
+    private static String excerpt(byte[] body) {
+        int end = MAX_BYTES;
+        while (end > 0 && (body[end] & 0xC0) == 0x80) {
+            // body[end] continues a multi-byte character that starts before it
+            end--;
+        }
+        String text = new String(body, 0, end, StandardCharsets.UTF_8);
+        return CUT_FIELD_PATTERN == null ? text : CUT_FIELD_PATTERN.matcher(text).replaceFirst("$1\"" + MASK + "\"");
+    }
+
+    private static String redact(String text) {
+        return FIELD_PATTERN == null ? text : FIELD_PATTERN.matcher(text).replaceAll("$1\"" + MASK + "\"");
+    }
+
+    /**
+     * Write the whole body next to the report. JSON is copied token by token
+     * so redaction never needs the body as a String.
+     */
+    private static String writeSideFile(String method, long seq, String contentType, byte[] body) {
+        boolean json = contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+        File file = new File(RESPONSE_DIR + method + "_" + Thread.currentThread().threadId() + "_" + seq + (json ? ".json" : ".txt"));
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            if (json && !REDACT_FIELDS.isEmpty()) {
+                try (JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(body));
+                     JsonGenerator generator = jsonFactory.createGenerator(Files.newOutputStream(file.toPath()))) {
+                    copyRedacted(parser, generator);
+                }
+            } else {
+                try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                    out.write(body);
+                }
+            }
+            return file.getAbsolutePath();
+        } catch (IOException e) {
+            // Not valid JSON after all or disk trouble; keep the inline excerpt only
+            TestLogManager.warning("Failed to write response body to " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void copyRedacted(JsonParser parser, JsonGenerator generator) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && REDACT_FIELDS.contains(parser.currentName().toLowerCase(Locale.ROOT))) {
+                generator.writeFieldName(parser.currentName());
+                parser.nextToken();
+                parser.skipChildren();
+                generator.writeString(MASK);
+            } else {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    // An unknown mode must not fail class initialisation; it falls back to the default
+    private static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            TestLogManager.warning("Unknown api.log.mode '" + value + "', using truncate");
+            return Mode.TRUNCATE;
+        }
+    }
+
+    private static Set<String> csvSet(String value) {
+        return Arrays.stream(value.split(","))
+                .map(s -> s.trim().toLowerCase(Locale.ROOT))
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -1,9 +1,14 @@
 package restassuredUtils;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import reporting.ExtentManager;
@@ -13,25 +18,64 @@ public class RestAssuredUtil {
 
     private static ThreadLocal<RequestSpecification> requestSpec = new ThreadLocal<>();
     private static ThreadLocal<Response> response = new ThreadLocal<>();
+    // Suite-wide default, e.g. set once in @BeforeSuite; kept here rather than in RestAssured.baseURI
+    private static volatile String defaultBaseURI;
+    // Per-thread override so parallel tests can target different hosts
+    private static ThreadLocal<String> baseURI = new ThreadLocal<>();
+
+    // Set the default Base URI for all threads
+    public static void setBaseURI(String uri) {
+        defaultBaseURI = uri;
+        if (requestSpec.get() != null && baseURI.get() == null) {
+            requestSpec.get().baseUri(uri);
+        }
+        TestLogManager.info("Base URI set to: " + uri);
+    }
 
-    // Set Base URI
-    public static void setBaseURI(String baseURI) {
-        RestAssured.baseURI = baseURI;
-        TestLogManager.info("Base URI set to: " + baseURI);
+    // Override the Base URI for the current thread only
+    public static void setThreadBaseURI(String uri) {
+        baseURI.set(uri);
+        if (requestSpec.get() != null) {
+            requestSpec.get().baseUri(uri);
+        }
+        TestLogManager.info("Base URI for this thread set to: " + uri);
     }
 
-    // Reset Base URI
+    // Reset the default Base URI and the current thread's override
     public static void resetBaseURI() {
-        RestAssured.baseURI = null;
+        defaultBaseURI = null;
+        baseURI.remove();
         TestLogManager.info("Base URI reset.");
     }
 
+    // The current thread's override, else the default
+    private static String currentBaseURI() {
+        String uri = baseURI.get();
+        return uri != null ? uri : defaultBaseURI;
+    }
+
     // Initialize request with default headers
     public static void initRequest() {
-        requestSpec.set(RestAssured.given().contentType(ContentType.JSON));
+        RequestSpecification spec = RestAssured.given().contentType(ContentType.JSON);
+        String uri = currentBaseURI();
+        if (uri != null) {
+            spec.baseUri(uri);
+        }
+        if (ResponseCache.ENABLED) {
+            spec.filter(ResponseCache.INSTANCE);
+        }
+        requestSpec.set(spec);
         TestLogManager.info("Initialized new request with Content-Type: JSON");
     }
 
+    // Serve this request's GETs from the shared response cache (already on for all requests when api.cache.enabled=true)
+    public static void useCache() {
+        if (!ResponseCache.ENABLED) {
+            requestSpec.set(requestSpec.get().filter(ResponseCache.INSTANCE));
+        }
+        TestLogManager.info("Response cache enabled for this request.");
+    }
+
     // Add headers
     public static void addHeaders(Map<String, String> headers) {
         requestSpec.set(requestSpec.get().headers(headers));
@@ -83,14 +127,43 @@ public class RestAssuredUtil {
         return response.get();
     }
 
-    // Logging to Extent report
-    private static void logResponse(String method, String endpoint) {
-        Response res = response.get();
-        String logMessage = method + " " + endpoint +
-                " | Status: " + res.getStatusCode() +
-                " | Response: " + res.getBody().asString();
+    // Single-pass streaming assertions on the latest response body, without building a JSON tree
+    public static JsonStreamAssert assertJsonStream() {
+        return new JsonStreamAssert(response.get().asInputStream());
+    }
+
+    // Snapshot of the current request for reuse from other threads, e.g. by LoadGenerator.
+    // The response cache is left out so every templated call really goes to the server.
+    public static RequestSpecification requestTemplate() {
+        return new RequestSpecBuilder().addRequestSpecification(requestSpec.get()).build()
+                .noFiltersOfType(ResponseCache.class);
+    }
+
+    // Run the current request under load and add the latency summary to the report
+    public static LoadGenerator.LoadResult load(String name, Method method, String endpoint, int rps, Duration duration) {
+        return new LoadGenerator(name, requestTemplate(), method, endpoint).rps(rps).duration(duration).run().report();
+    }
+
+    // Async client bound to the current thread's base URI
+    public static AsyncRestClient asyncClient() {
+        return new AsyncRestClient(currentBaseURI());
+    }
+
+    // Fire a batch of async requests and wait for all of them; logs one summary line from the calling thread
+    public static List<Response> awaitAll(List<CompletableFuture<Response>> futures) {
+        long start = System.currentTimeMillis();
+        List<Response> responses = AsyncRestClient.awaitAll(futures);
+        long failed = responses.stream().filter(r -> r.getStatusCode() >= 400).count();
+        String logMessage = "Async batch: " + responses.size() + " responses in "
+                + (System.currentTimeMillis() - start) + " ms | Status >= 400: " + failed;
 
         TestLogManager.info(logMessage);
         ExtentManager.getTest().info(logMessage);
+        return responses;
+    }
+
+    // Logging to Extent report, bounded by ResponseLogger's policy
+    private static void logResponse(String method, String endpoint) {
+        ResponseLogger.log(method, endpoint, response.get());
     }
 }
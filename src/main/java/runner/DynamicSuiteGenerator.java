@@ -43,6 +43,9 @@ public class DynamicSuiteGenerator {
             listeners.add("listeners.TestListener");
             listeners.add("reporting.NewCutsomHTMLReport");
             listeners.add("listeners.NoProdMethodSkipper");
+            if ("yes".equalsIgnoreCase(System.getProperty("isLiveDashboard"))) {
+                listeners.add("reporting.LiveDashboard");
+            }
             suite.setListeners(listeners);
 
             Map<String, String> parameters = new LinkedHashMap<>();
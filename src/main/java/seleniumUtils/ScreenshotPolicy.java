@@ -0,0 +1,143 @@
+package seleniumUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+
+import reporting.EventLog;
+import reporting.ExtentManager;
+import reporting.TestLogManager;
+
+/**
+ * Decides which implicit screenshots (assertion logs, report steps) are
+ * actually taken. Explicit {@link ScreenshotUtil#takeScreenshot(String)} calls
+ * are not affected.
+ *
+ * Configured through system properties:
+ * <ul>
+ * <li>screenshot.policy        - always (default), on_failure, every_nth, first_and_last, ring_buffer</li>
+ * <li>screenshot.policy.n      - interval for every_nth (default 5)</li>
+ * <li>screenshot.policy.buffer - frames kept in memory for ring_buffer (default 5)</li>
+ * </ul>
+ * Policy names may use '-' for '_'; an unknown name logs a warning and
+ * falls back to always. Failed steps are captured immediately in every mode.
+ */
+public final class ScreenshotPolicy {
+
+    public enum Mode {
+        ALWAYS, ON_FAILURE, EVERY_NTH, FIRST_AND_LAST, RING_BUFFER
+    }
+
+    private static final Mode MODE = parseMode(System.getProperty("screenshot.policy", "always"));
+    private static final int EVERY_N = Math.max(1, Integer.parseInt(System.getProperty("screenshot.policy.n", "5")));
+    private static final int BUFFER_SIZE = Math.max(1, Integer.parseInt(System.getProperty("screenshot.policy.buffer", "5")));
+
+    private static final ThreadLocal<TestState> state = ThreadLocal.withInitial(TestState::new);
+
+    private ScreenshotPolicy() {
+        // prevent instantiation
+    }
+
+    /**
+     * Capture a step screenshot if the policy asks for one.
+     *
+     * @param driver   driver of the current test
+     * @param name     file prefix for the stored image
+     * @param failed   whether the step failed
+     * @param deferred receives the stored path if a buffered frame is flushed
+     *                 later (ring_buffer mode); may be null
+     * @return stored path, or null when the frame was skipped or buffered
+     */
+    public static String capture(WebDriver driver, String name, boolean failed, Consumer<String> deferred) {
+        TestState test = state.get();
+        int step = ++test.steps;
+
+        if (failed || MODE == Mode.ALWAYS) {
+            return store(driver, name);
+        }
+
+        switch (MODE) {
+        case EVERY_NTH:
+            return (step - 1) % EVERY_N == 0 ? store(driver, name) : null;
+        case FIRST_AND_LAST:
+            return step == 1 ? store(driver, name) : null;
+        case RING_BUFFER:
+            if (test.frames.size() == BUFFER_SIZE) {
+                test.frames.removeFirst();
+            }
+            test.frames.addLast(new Frame(name, grab(driver), deferred));
+            return null;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Finish the current test: flush buffered frames if it failed, take the
+     * closing frame for first_and_last, and reset the per-thread state. Must be
+     * called while the driver is still open.
+     */
+    public static void endTest(WebDriver driver, boolean failed) {
+        TestState test = state.get();
+        state.remove();
+        try {
+            if (MODE == Mode.RING_BUFFER && failed) {
+                int index = 1;
+                int total = test.frames.size();
+                for (Frame frame : test.frames) {
+                    String path = ScreenshotStore.store(frame.name, frame.imageBytes);
+                    if (frame.deferred != null) {
+                        frame.deferred.accept(path);
+                    }
+                    ExtentManager.getTest().log(Status.INFO, "Screenshot before failure (" + index++ + "/" + total + ")",
+                            MediaEntityBuilder.createScreenCaptureFromPath(path).build());
+                }
+            } else if (MODE == Mode.FIRST_AND_LAST && test.steps > 1 && driver != null) {
+                ExtentManager.getTest().log(Status.INFO, "Final screenshot",
+                        MediaEntityBuilder.createScreenCaptureFromPath(store(driver, "Final")).build());
+            }
+        } catch (Exception e) {
+            TestLogManager.warning("Unable to flush screenshots at test end: " + e.getMessage());
+        }
+    }
+
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    private static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            TestLogManager.warning("Unknown screenshot.policy '" + value + "', using always");
+            return Mode.ALWAYS;
+        }
+    }
+
+    private static String store(WebDriver driver, String name) {
+        long start = System.currentTimeMillis();
+        String path = ScreenshotStore.store(name, grab(driver));
+        EventLog.timed("screenshot", path, System.currentTimeMillis() - start);
+        return path;
+    }
+
+    private static byte[] grab(WebDriver driver) {
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    private static final class TestState {
+        private int steps;
+        private final Deque<Frame> frames = new ArrayDeque<>(BUFFER_SIZE);
+    }
+
+    private record Frame(String name, byte[] imageBytes, Consumer<String> deferred) {
+    }
+}
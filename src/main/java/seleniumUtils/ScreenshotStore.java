@@ -0,0 +1,249 @@
+package seleniumUtils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import base.PageBase;
+import reporting.TestLogManager;
+
+/**
+ * Stores captured screenshots on disk through a small bounded writer pool.
+ *
+ * The capture itself has to happen on the test thread (the driver is not
+ * thread-safe), but everything after the raw bytes are in hand is handed off
+ * here, so parallel threads never wait on each other's disk I/O. Each image is
+ * written exactly once and callers reference it by the returned path.
+ *
+ * Images are transcoded to the configured format and downscaled to a maximum
+ * width before writing, and identical frames are stored only once, keyed by
+ * the SHA-256 of the raw capture:
+ * <ul>
+ * <li>screenshot.format   - jpg (default), png, or any format with an ImageIO writer (e.g. webp)</li>
+ * <li>screenshot.quality  - lossy compression quality 0.0 - 1.0 (default 0.7)</li>
+ * <li>screenshot.maxWidth - wider captures are scaled down to this width (default 1280, 0 disables)</li>
+ * </ul>
+ */
+public final class ScreenshotStore {
+
+    private static final String SCREENSHOT_DIR = PageBase.getNormalizedPath(System.getProperty("user.dir")
+            + "/src/test/resources/ExtentReports/ScreenShots/");
+
+    private static final int WRITER_THREADS = Integer.parseInt(System.getProperty("screenshot.writer.threads", "2"));
+    private static final int QUEUE_CAPACITY = Integer.parseInt(System.getProperty("screenshot.writer.queue", "64"));
+
+    private static final String FORMAT = resolveFormat(System.getProperty("screenshot.format", "jpg"));
+    private static final float QUALITY = Float.parseFloat(System.getProperty("screenshot.quality", "0.7"));
+    private static final int MAX_WIDTH = Integer.parseInt(System.getProperty("screenshot.maxWidth", "1280"));
+
+    // content hash -> stored path, so repeated frames point at the same file
+    private static final Map<String, String> storedByHash = new ConcurrentHashMap<>();
+
+    // Writes submitted but not yet finished, guarded by writesLock. Any number of
+    // threads may wait for it to reach zero, each as often as they like.
+    private static final Object writesLock = new Object();
+    private static int pendingWrites;
+
+    // When the queue is full the submitting test thread writes the file itself,
+    // which keeps memory bounded without dropping screenshots.
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), daemonThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    static {
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    private ScreenshotStore() {
+        // prevent instantiation
+    }
+
+    /**
+     * Store the screenshot, or return the existing file if an identical frame
+     * was already stored. Transcoding and writing happen on the writer pool.
+     *
+     * @param screenshotName logical name used as the file prefix
+     * @param imageBytes     raw PNG bytes returned by the driver
+     * @return absolute path the image will be available at
+     */
+    public static String store(String screenshotName, byte[] imageBytes) {
+        String hash = sha256(imageBytes);
+        String existing = storedByHash.get(hash);
+        if (existing != null) {
+            return existing;
+        }
+
+        String destPath = new File(SCREENSHOT_DIR + screenshotName + "_" + hash.substring(0, 16) + "." + FORMAT).getAbsolutePath();
+        existing = storedByHash.putIfAbsent(hash, destPath);
+        if (existing != null) {
+            return existing;
+        }
+
+        synchronized (writesLock) {
+            pendingWrites++;
+        }
+        writer.execute(() -> {
+            boolean written = false;
+            try {
+                written = write(Path.of(destPath), imageBytes);
+            } finally {
+                if (!written) {
+                    // Let the next identical frame try again instead of pointing at a missing file
+                    storedByHash.remove(hash, destPath);
+                }
+                synchronized (writesLock) {
+                    if (--pendingWrites == 0) {
+                        writesLock.notifyAll();
+                    }
+                }
+            }
+        });
+        return destPath;
+    }
+
+    /**
+     * Block until every queued screenshot has reached the disk. Called before
+     * reports are flushed so no report references a missing file.
+     */
+    public static void awaitPendingWrites() {
+        synchronized (writesLock) {
+            while (pendingWrites > 0) {
+                try {
+                    writesLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of distinct frames stored during this run.
+     */
+    public static int storedCount() {
+        return storedByHash.size();
+    }
+
+    /**
+     * @return false if the file could not be written (already logged)
+     */
+    private static boolean write(Path destPath, byte[] imageBytes) {
+        try {
+            Files.createDirectories(destPath.getParent());
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            if (image == null) {
+                // Not a decodable image, keep the raw capture
+                Files.write(destPath, imageBytes);
+                return true;
+            }
+            try (OutputStream out = Files.newOutputStream(destPath);
+                    ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+                encode(prepare(image), imageOut);
+            }
+            return true;
+        } catch (IOException e) {
+            TestLogManager.error("Unable to write screenshot: " + destPath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Downscale to MAX_WIDTH and drop the alpha channel for lossy formats,
+     * which cannot store it.
+     */
+    private static BufferedImage prepare(BufferedImage source) {
+        boolean scale = MAX_WIDTH > 0 && source.getWidth() > MAX_WIDTH;
+        boolean opaque = !"png".equals(FORMAT);
+        if (!scale && !(opaque && source.getColorModel().hasAlpha())) {
+            return source;
+        }
+
+        int width = scale ? MAX_WIDTH : source.getWidth();
+        int height = scale ? Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth()))) : source.getHeight();
+        BufferedImage target = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static void encode(BufferedImage image, ImageOutputStream imageOut) throws IOException {
+        ImageWriter imageWriter = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        try {
+            ImageWriteParam param = imageWriter.getDefaultWriteParam();
+            if (param.canWriteCompressed() && !"png".equals(FORMAT)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            imageWriter.setOutput(imageOut);
+            imageWriter.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            imageWriter.dispose();
+        }
+    }
+
+    /**
+     * Use the requested format if an ImageIO writer is installed for it,
+     * otherwise fall back to JPEG.
+     */
+    private static String resolveFormat(String requested) {
+        String format = requested.trim().toLowerCase(Locale.ROOT);
+        if ("jpeg".equals(format)) {
+            format = "jpg";
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            TestLogManager.warning("No image writer for screenshot.format=" + requested + ", using jpg");
+            return "jpg";
+        }
+        return format;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
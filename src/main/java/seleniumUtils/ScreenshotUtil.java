@@ -1,21 +1,15 @@
 package seleniumUtils;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 
 import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
 
 import base.DriverManager;
-import base.PageBase;
 import pages.PageFactory;
+import reporting.EventLog;
 import reporting.ExtentManager;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
 /**
  * Utility class for capturing screenshots with optional element highlight.
  */
@@ -30,11 +24,15 @@ public class ScreenshotUtil extends WaitUtil {
     /**
      * Capture screenshot with optional element highlight.
      *
+     * Only the driver round-trip runs on the calling thread; the file is written
+     * asynchronously by {@link ScreenshotStore}, so parallel tests don't queue
+     * behind each other.
+     *
      * @param screenshotName custom screenshot name
      * @param element        element to highlight (can be null)
      * @return path of saved screenshot
      */
-    public static synchronized String takeScreenshot(String screenshotName, WebElement element) {
+    public static String takeScreenshot(String screenshotName, WebElement element) {
         String screenshotPath = null;
         try {
             // Highlight element if provided
@@ -42,23 +40,11 @@ public class ScreenshotUtil extends WaitUtil {
                 highlightElement(element);
             }
 
-            // Generate timestamp
-            String timeStamp = new SimpleDateFormat("yyMMdd_HHmmssSSS").format(new Date());
-
-            // Define screenshot path
-            String screenshotDir = PageBase.detectFilePath(System.getProperty("user.dir")
-                    + "/src/test/resources/ExtentReports/ScreenShots/");
-            File destPath = new File(screenshotDir + screenshotName + "_" + timeStamp + ".jpg");
-
-            // Create directory if it does not exist
-            if (!destPath.getParentFile().exists()) {
-                destPath.getParentFile().mkdirs();
-            }
-
-            // Capture screenshot
-            File srcFile = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(srcFile, destPath);
-            screenshotPath = destPath.getAbsolutePath();
+            // Capture raw bytes on this thread, hand the write off to the store
+            long start = System.currentTimeMillis();
+            byte[] imageBytes = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
+            screenshotPath = ScreenshotStore.store(screenshotName, imageBytes);
+            EventLog.timed("screenshot", screenshotPath, System.currentTimeMillis() - start);
 
             // Attach screenshot to Extent report
             ExtentManager.getTest().log(Status.INFO, "Screenshot captured",
@@ -69,23 +55,42 @@ public class ScreenshotUtil extends WaitUtil {
                 removeHighlight(element);
             }
 
-        } catch (IOException e) {
+        } catch (WebDriverException e) {
             ExtentManager.getTest().log(Status.WARNING, "Unable to take screenshot: " + e.getMessage());
         }
         return screenshotPath;
     }
     
-    public static synchronized void takeScreenshot()
+    public static void takeScreenshot()
 	{
 		try
 		{
-			// Directly capture as Base64
-			String base64Screenshot = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BASE64);
+			// Store the image once and reference it from the report
+			byte[] imageBytes = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
+			String screenshotPath = ScreenshotStore.store("Screenshot", imageBytes);
+			ExtentManager.getTest().log(Status.INFO, MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
 
-			// Embed in report
-			ExtentManager.getTest().log(Status.INFO, MediaEntityBuilder.createScreenCaptureFromBase64String(base64Screenshot).build());
-			ExtentManager.getTest().info("<img src='data:image/png;base64," + base64Screenshot + "' height='400' width='800'/>");
+		} catch (Exception e)
+		{
+			ExtentManager.getTest().log(Status.WARNING, "Failed to take screenshot: " + e.getMessage());
+		}
+	}
 
+    /**
+     * Step screenshot governed by {@link ScreenshotPolicy}; passing steps may be
+     * skipped or only buffered depending on the configured mode.
+     *
+     * @param failed whether the step being logged failed
+     */
+    public static void takeStepScreenshot(boolean failed)
+	{
+		try
+		{
+			String screenshotPath = ScreenshotPolicy.capture(DriverManager.getDriver(), "Screenshot", failed, null);
+			if (screenshotPath != null)
+			{
+				ExtentManager.getTest().log(Status.INFO, MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
+			}
 		} catch (Exception e)
 		{
 			ExtentManager.getTest().log(Status.WARNING, "Failed to take screenshot: " + e.getMessage());
@@ -118,7 +123,7 @@ public class ScreenshotUtil extends WaitUtil {
     /**
      * Capture Base64 screenshot (optional for CI/CD) with highlight.
      */
-    public static synchronized String takeScreenshotBase64(WebElement element) {
+    public static String takeScreenshotBase64(WebElement element) {
         try {
             if (element != null) highlightElement(element);
             String base64 = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BASE64);
@@ -131,7 +136,7 @@ public class ScreenshotUtil extends WaitUtil {
     }
 
     // Overloaded method for old usage (no element)
-    public static synchronized String takeScreenshot(String screenshotName) {
+    public static String takeScreenshot(String screenshotName) {
         return takeScreenshot(screenshotName, null);
     }
 }